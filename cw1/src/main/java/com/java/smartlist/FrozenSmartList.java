@@ -0,0 +1,220 @@
+package com.java.smartlist;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Immutable compact list made by SmartList.freeze().
+ * Empty list is a shared instance, a single element is stored without array,
+ * other lists are stored in exactly sized arrays.
+ * All fields are final, so the list can be passed to other threads without synchronization.
+ * Every form is a final class, so reads can be devirtualized.
+ * Modifying methods throw UnsupportedOperationException.
+ * @param <E>
+ */
+public abstract class FrozenSmartList<E> extends AbstractList<E> implements RandomAccess {
+    private static final FrozenSmartList<?> EMPTY = new Empty<>();
+
+    private FrozenSmartList() { }
+
+    /**
+     * Shared empty list.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> FrozenSmartList<E> empty() {
+        return (FrozenSmartList<E>) EMPTY;
+    }
+
+    /**
+     * Frozen copy of the collection.
+     */
+    public static <E> FrozenSmartList<E> copyOf(Collection<? extends E> collection) {
+        if (collection instanceof FrozenSmartList) {
+            @SuppressWarnings("unchecked")
+            var frozen = (FrozenSmartList<E>) collection;
+            return frozen;
+        }
+        var array = collection.toArray();
+        return copyOf(array, array.length);
+    }
+
+    /**
+     * List of one element.
+     */
+    static <E> FrozenSmartList<E> single(E element) {
+        return new Single<>(element);
+    }
+
+    /**
+     * Frozen copy of the first size elements of the array.
+     */
+    @SuppressWarnings("unchecked")
+    static <E> FrozenSmartList<E> copyOf(Object[] array, int size) {
+        if (size == 0) {
+            return empty();
+        }
+        if (size == 1) {
+            return single((E) array[0]);
+        }
+        var elements = new Object[size];
+        System.arraycopy(array, 0, elements, 0, size);
+        return new Many<>(elements);
+    }
+
+    /**
+     * The list is already immutable.
+     * @return this list
+     */
+    public FrozenSmartList<E> freeze() {
+        return this;
+    }
+
+    private static final class Empty<E> extends FrozenSmartList<E> {
+        @Override
+        public int size() {
+            return 0;
+        }
+
+        @Override
+        public E get(int index) throws IndexOutOfBoundsException {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: 0");
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return Collections.emptyIterator();
+        }
+
+        @Override
+        public Spliterator<E> spliterator() {
+            return Spliterators.emptySpliterator();
+        }
+
+        @Override
+        public void forEach(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+        }
+    }
+
+    private static final class Single<E> extends FrozenSmartList<E> {
+        private final E element;
+
+        private Single(E element) {
+            this.element = element;
+        }
+
+        @Override
+        public int size() {
+            return 1;
+        }
+
+        @Override
+        public E get(int index) throws IndexOutOfBoundsException {
+            if (index != 0) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: 1");
+            }
+            return element;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new Iterator<>() {
+                private boolean hasNext = true;
+
+                @Override
+                public boolean hasNext() {
+                    return hasNext;
+                }
+
+                @Override
+                public E next() throws NoSuchElementException {
+                    if (!hasNext) {
+                        throw new NoSuchElementException();
+                    }
+                    hasNext = false;
+                    return element;
+                }
+            };
+        }
+
+        @Override
+        public Spliterator<E> spliterator() {
+            return Collections.singletonList(element).spliterator();
+        }
+
+        @Override
+        public void forEach(Consumer<? super E> action) {
+            action.accept(element);
+        }
+    }
+
+    private static final class Many<E> extends FrozenSmartList<E> {
+        /**
+         * Elements, the array is exactly sized and never changed.
+         */
+        private final Object[] elements;
+
+        private Many(Object[] elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get(int index) throws IndexOutOfBoundsException {
+            return (E) elements[index];
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new Iterator<>() {
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return index < elements.length;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public E next() throws NoSuchElementException {
+                    if (index >= elements.length) {
+                        throw new NoSuchElementException();
+                    }
+                    return (E) elements[index++];
+                }
+            };
+        }
+
+        @Override
+        public Spliterator<E> spliterator() {
+            return Spliterators.spliterator(elements, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEach(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            for (var element : elements) {
+                action.accept((E) element);
+            }
+        }
+
+        @Override
+        public Object[] toArray() {
+            return elements.clone();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.java.smartlist;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Smart list of int values.
+ * Primitive methods do not box elements, List methods are provided for compatibility.
+ * A single element added to an empty list is stored in a field without array.
+ * Arrays up to the inline capacity double, bigger arrays grow by half of their capacity.
+ * The array is kept when the list shrinks to one element
+ * and shrinks only when it is four times longer than the list.
+ */
+public class IntSmartList extends AbstractList<Integer> implements RandomAccess {
+    private int size;
+    /**
+     * The element if there is one element and no array.
+     */
+    private int single;
+    /**
+     * Elements in the first size cells, not null if there are at least two elements.
+     */
+    private int[] array;
+    /**
+     * Capacity up to which arrays double.
+     */
+    private final int inlineCapacity;
+
+    public IntSmartList() {
+        this(SmartList.DEFAULT_INLINE_CAPACITY);
+    }
+
+    /**
+     * @param inlineCapacity capacity up to which arrays double
+     * @throws IllegalArgumentException if inlineCapacity is not positive
+     */
+    public IntSmartList(int inlineCapacity) throws IllegalArgumentException {
+        if (inlineCapacity < 1) {
+            throw new IllegalArgumentException("Inline capacity should be positive.");
+        }
+        this.inlineCapacity = inlineCapacity;
+    }
+
+    public IntSmartList(Collection<Integer> collection) {
+        this();
+        for (int element : collection) {
+            addInt(element);
+        }
+    }
+
+    /**
+     * Capacity of an array for the list growing to minCapacity elements.
+     * @param oldCapacity capacity of the current array
+     */
+    private int grownCapacity(int minCapacity, int oldCapacity) {
+        if (minCapacity <= inlineCapacity) {
+            return Math.min(inlineCapacity, Math.max(minCapacity, 2 * oldCapacity));
+        }
+        return Math.max(minCapacity, oldCapacity + (oldCapacity >> 1));
+    }
+
+    private void checkIndex(int index, int bound) throws IndexOutOfBoundsException {
+        if (index >= bound || index < 0) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int getInt(int index) throws IndexOutOfBoundsException {
+        checkIndex(index, size);
+        return array == null ? single : array[index];
+    }
+
+    public int setInt(int index, int element) throws IndexOutOfBoundsException {
+        checkIndex(index, size);
+        int tmp;
+        if (array == null) {
+            tmp = single;
+            single = element;
+        } else {
+            tmp = array[index];
+            array[index] = element;
+        }
+        return tmp;
+    }
+
+    public void addInt(int element) {
+        addInt(size, element);
+    }
+
+    public void addInt(int index, int element) throws IndexOutOfBoundsException {
+        checkIndex(index, size + 1);
+        modCount++;
+        if (size == 0) {
+            single = element;
+            size++;
+            return;
+        }
+        if (array == null) {
+            array = new int[grownCapacity(2, 1)];
+            array[0] = single;
+        } else if (size == array.length) {
+            array = Arrays.copyOf(array, grownCapacity(size + 1, size));
+        }
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = element;
+        size++;
+    }
+
+    public int removeInt(int index) throws IndexOutOfBoundsException {
+        checkIndex(index, size);
+        modCount++;
+        if (array == null) {
+            size = 0;
+            return single;
+        }
+        int tmp = array[index];
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        size--;
+        if (size == 0) {
+            array = null;
+        } else if (array.length > inlineCapacity && size <= array.length / 4) {
+            array = Arrays.copyOf(array, size <= inlineCapacity ? size : 2 * size);
+        }
+        return tmp;
+    }
+
+    /**
+     * Copy elements to a new array.
+     */
+    public int[] toIntArray() {
+        if (array == null) {
+            return size == 0 ? new int[0] : new int[] {single};
+        }
+        return Arrays.copyOf(array, size);
+    }
+
+    @Override
+    public Integer get(int index) throws IndexOutOfBoundsException {
+        return getInt(index);
+    }
+
+    @Override
+    public Integer set(int index, Integer element) throws IndexOutOfBoundsException {
+        return setInt(index, element);
+    }
+
+    @Override
+    public void add(int index, Integer element) throws IndexOutOfBoundsException {
+        addInt(index, element);
+    }
+
+    @Override
+    public Integer remove(int index) throws IndexOutOfBoundsException {
+        return removeInt(index);
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        array = null;
+        size = 0;
+    }
+}
@@ -1,42 +1,105 @@
 package com.java.smartlist;
 
 import java.util.AbstractList;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
 
 /**
  * Smart list provides List interface.
  * Optimised gor small number of elements.
+ * A single element added to an empty list is stored without array.
+ * Arrays up to the inline capacity double, bigger arrays grow by half of their capacity.
+ * The array is kept when the list shrinks to one element
+ * and shrinks only when it is four times longer than the list,
+ * so a list oscillating around some size does not reallocate on every operation.
  * @param <E>
  */
-public class SmartList<E>  extends AbstractList<E> implements List<E> {
+public class SmartList<E>  extends AbstractList<E> implements List<E>, RandomAccess {
+    /**
+     * Inline capacity of lists constructed without it.
+     */
+    public static final int DEFAULT_INLINE_CAPACITY = 5;
 
     private int size;
+    /**
+     * Null if the list is empty, the element or Object[] containing it if there is one element,
+     * otherwise Object[] containing elements in the first size cells.
+     * A single element that is Object[] itself is always stored in an array.
+     */
     private Object data;
+    /**
+     * Capacity up to which arrays double.
+     */
+    private final int inlineCapacity;
 
-    public SmartList() { }
+    public SmartList() {
+        this(DEFAULT_INLINE_CAPACITY);
+    }
 
-    public SmartList(Collection<? extends E> collection) {
-        size = collection.size();
-        if (size == 0) {
-            return;
+    /**
+     * @param inlineCapacity capacity up to which arrays double
+     * @throws IllegalArgumentException if inlineCapacity is not positive
+     */
+    public SmartList(int inlineCapacity) throws IllegalArgumentException {
+        if (inlineCapacity < 1) {
+            throw new IllegalArgumentException("Inline capacity should be positive.");
         }
+        this.inlineCapacity = inlineCapacity;
+    }
+
+    public SmartList(Collection<? extends E> collection) {
+        this(DEFAULT_INLINE_CAPACITY, collection);
+    }
+
+    /**
+     * @param inlineCapacity capacity up to which arrays double
+     * @param collection elements of the list
+     * @throws IllegalArgumentException if inlineCapacity is not positive
+     */
+    public SmartList(int inlineCapacity, Collection<? extends E> collection) throws IllegalArgumentException {
+        this(inlineCapacity);
+        var array = collection.toArray();
+        size = array.length;
         if (size == 1) {
-            data = collection.iterator().next();
-            return;
+            data = single(array[0]);
+        } else if (size > 1) {
+            data = Arrays.copyOf(array, size, Object[].class);
         }
-        if (size <= 5) {
-            var array = new Object[5];
-            int i = 0;
-            for (var element : collection) {
-                array[i] = element;
-                i++;
-            }
-            data = array;
-            return;
+    }
+
+    /**
+     * Capacity of an array for the list growing to minCapacity elements.
+     * @param oldCapacity capacity of the current array
+     */
+    private int grownCapacity(int minCapacity, int oldCapacity) {
+        if (minCapacity <= inlineCapacity) {
+            return Math.min(inlineCapacity, Math.max(minCapacity, 2 * oldCapacity));
+        }
+        return Math.max(minCapacity, oldCapacity + (oldCapacity >> 1));
+    }
+
+    /**
+     * Data of the list containing only the element.
+     */
+    private static Object single(Object element) {
+        return element instanceof Object[] ? new Object[] {element} : element;
+    }
+
+    /**
+     * Return true iff the elements are stored in an array.
+     */
+    private boolean isArray() {
+        return size > 1 || data instanceof Object[];
+    }
+
+    private void checkIndex(int index, int bound) throws IndexOutOfBoundsException {
+        if (index >= bound || index < 0) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
         }
-        data = new ArrayList<>(collection);
     }
 
     @Override
@@ -45,129 +108,204 @@ public class SmartList<E>  extends AbstractList<E> implements List<E> {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public E get(int index) throws IndexOutOfBoundsException {
-        if (index >= size || index < 0) {
-            throw new IndexOutOfBoundsException();
-        }
-        if (size == 1) {
+        checkIndex(index, size);
+        if (!isArray()) {
             return (E) data;
         }
-        if (size <= 5) {
-            return (E) (((Object[]) data)[index]);
-        }
-        return (E) ((ArrayList<Object>) data).get(index);
+        return (E) ((Object[]) data)[index];
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public E set(int index, E element) throws IndexOutOfBoundsException {
-        if (index >= size || index < 0) {
-            throw new IndexOutOfBoundsException();
-        }
-        if (size == 1) {
+        checkIndex(index, size);
+        if (!isArray()) {
             E tmp = (E) data;
-            data = element;
-            return tmp;
-        }
-        if (size <= 5) {
-            E tmp = (E) (((Object[]) data)[index]);
-            ((Object[]) data)[index] = element;
+            data = single(element);
             return tmp;
         }
-        return (E) ((ArrayList<Object>) data).set(index, element);
+        var array = (Object[]) data;
+        E tmp = (E) array[index];
+        array[index] = element;
+        return tmp;
     }
 
     @Override
     public void add(int index, E element) throws IndexOutOfBoundsException {
-        if (index > size || index < 0) {
-            throw new IndexOutOfBoundsException();
-        }
+        checkIndex(index, size + 1);
+        modCount++;
         if (size == 0) {
-            data = element;
+            data = single(element);
             size++;
             return;
         }
-        if (size == 1) {
-            size++;
-            var tmp = data;
-            data = new Object[5];
-            if (index == 0) {
-                ((Object[]) data)[0] = element;
-                ((Object[]) data)[1] = tmp;
-            } else {
-                ((Object[]) data)[0] = tmp;
-                ((Object[]) data)[1] = element;
+        Object[] array;
+        if (!isArray()) {
+            array = new Object[grownCapacity(2, 1)];
+            array[0] = data;
+        } else {
+            array = (Object[]) data;
+            if (size == array.length) {
+                array = Arrays.copyOf(array, grownCapacity(size + 1, size));
             }
-            return;
-        }
-        if (size < 5) {
-            var tmpData = (Object[]) data;
-            for (int i = size - 1; i >= index; i--) {
-                tmpData[i + 1] = tmpData[i];
-            }
-            size++;
-            tmpData[index] = element;
-            return;
-        }
-        if (size == 5) {
-            size++;
-            var tmp = data;
-            data = new ArrayList<>();
-            for (int i = 0; i < 5; ++i) {
-                ((ArrayList) data).add(((Object[])tmp)[i]);
-            }
-            ((ArrayList) data).add(index, element);
-            return;
         }
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = element;
+        data = array;
         size++;
-        ((ArrayList) data).add(index, element);
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public E remove(int index) throws IndexOutOfBoundsException {
-        if (index >= size || index < 0) {
-            throw new IndexOutOfBoundsException();
-        }
+        checkIndex(index, size);
+        modCount++;
         if (size == 1) {
-            var tmp = (E) data;
+            var tmp = get(0);
             data = null;
             size = 0;
             return tmp;
         }
-        if (size == 2) {
-            size--;
-            var tmp0 = (E) ((Object[]) data)[0];
-            var tmp1 = (E) ((Object[]) data)[1];
-            if (index == 0) {
-                data = tmp1;
-                return tmp0;
+        var array = (Object[]) data;
+        var tmp = (E) array[index];
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        array[--size] = null;
+        shrinkIfSparse(array);
+        return tmp;
+    }
+
+    /**
+     * Shrink the array if it is at least four times longer than the list.
+     * The new array is exactly sized for the inline tier and twice the list size otherwise.
+     */
+    private void shrinkIfSparse(Object[] array) {
+        if (array.length > inlineCapacity && size <= array.length / 4) {
+            data = Arrays.copyOf(array, size <= inlineCapacity ? size : 2 * size);
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> collection) {
+        return addAll(size, collection);
+    }
+
+    /**
+     * Insert all elements of the collection choosing the final representation once.
+     */
+    @Override
+    public boolean addAll(int index, Collection<? extends E> collection) throws IndexOutOfBoundsException {
+        checkIndex(index, size + 1);
+        var added = collection.toArray();
+        if (added.length == 0) {
+            return false;
+        }
+        modCount++;
+        int newSize = size + added.length;
+        if (newSize == 1) {
+            data = single(added[0]);
+            size = 1;
+            return true;
+        }
+        Object[] array;
+        if (isArray() && ((Object[]) data).length >= newSize) {
+            array = (Object[]) data;
+            System.arraycopy(array, index, array, index + added.length, size - index);
+        } else {
+            array = new Object[grownCapacity(newSize, isArray() ? ((Object[]) data).length : size)];
+            if (isArray()) {
+                var oldArray = (Object[]) data;
+                System.arraycopy(oldArray, 0, array, 0, index);
+                System.arraycopy(oldArray, index, array, index + added.length, size - index);
+            } else if (size == 1) {
+                array[index == 0 ? added.length : 0] = data;
+            }
+        }
+        System.arraycopy(added, 0, array, index, added.length);
+        data = array;
+        size = newSize;
+        return true;
+    }
+
+    /**
+     * Remove all elements satisfying the filter in one pass choosing the final representation once.
+     * If the filter throws an exception, the list is not changed.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+        if (size == 0) {
+            return false;
+        }
+        if (!isArray()) {
+            if (!filter.test((E) data)) {
+                return false;
             }
-            data = tmp0;
-            return tmp1;
-        }
-        if (size <= 5) {
-            var tmpData = (Object[]) data;
-            var tmp = (E) tmpData[index];
-            for (int i = index; i < size - 1; ++i) {
-                tmpData[i] = tmpData[i + 1];
+            clear();
+            return true;
+        }
+        var array = (Object[]) data;
+        boolean[] isRemoved = null;
+        int newSize = size;
+        for (int i = 0; i < size; i++) {
+            if (filter.test((E) array[i])) {
+                if (isRemoved == null) {
+                    isRemoved = new boolean[size];
+                }
+                isRemoved[i] = true;
+                newSize--;
             }
-            tmpData[size - 1] = null;
-            size--;
-            return tmp;
         }
-        if (size == 6) {
-            var tmpData = (ArrayList) data;
-            var tmp = (E) ((ArrayList) data).remove(index);
-            size--;
-            data = new Object[5];
-            int i = 0;
-            for (var element : tmpData) {
-                ((Object[]) data)[i] = element;
-                i++;
+        if (isRemoved == null) {
+            return false;
+        }
+        modCount++;
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            if (!isRemoved[i]) {
+                array[j++] = array[i];
             }
-            return tmp;
         }
-        size--;
-        return (E) ((ArrayList) data).remove(index);
+        Arrays.fill(array, newSize, size, null);
+        size = newSize;
+        if (size == 0) {
+            data = null;
+        } else {
+            shrinkIfSparse(array);
+        }
+        return true;
     }
 
+    @Override
+    public boolean removeAll(Collection<?> collection) {
+        Objects.requireNonNull(collection);
+        return removeIf(collection::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> collection) {
+        Objects.requireNonNull(collection);
+        return removeIf(element -> !collection.contains(element));
+    }
+
+    /**
+     * Immutable compact copy of the list.
+     * Further changes of this list are not visible in the copy.
+     */
+    @SuppressWarnings("unchecked")
+    public FrozenSmartList<E> freeze() {
+        if (!isArray()) {
+            return size == 0 ? FrozenSmartList.empty() : FrozenSmartList.single((E) data);
+        }
+        return FrozenSmartList.copyOf((Object[]) data, size);
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        data = null;
+        size = 0;
+    }
 }
@@ -0,0 +1,107 @@
+package com.java.smartlist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrozenSmartListTest {
+    private static SmartList<Integer> smartList(int size) {
+        var list = new SmartList<Integer>();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    @Test
+    void emptyIsShared() {
+        assertSame(FrozenSmartList.empty(), smartList(0).freeze());
+        assertSame(FrozenSmartList.empty(), FrozenSmartList.copyOf(List.of()));
+        assertEquals(List.of(), FrozenSmartList.empty());
+        assertFalse(FrozenSmartList.empty().iterator().hasNext());
+        assertEquals(0, FrozenSmartList.empty().stream().count());
+        assertThrows(IndexOutOfBoundsException.class, () -> FrozenSmartList.empty().get(0));
+    }
+
+    @Test
+    void sameElementsAsSmartList() {
+        for (int size = 0; size < 10; size++) {
+            var list = smartList(size);
+            var frozen = list.freeze();
+            assertEquals(list, frozen);
+            assertEquals(list.hashCode(), frozen.hashCode());
+            assertEquals(size, frozen.size());
+            assertEquals(list, new ArrayList<>(frozen));
+            assertEquals(list, frozen.stream().collect(Collectors.toList()));
+            var forEach = new ArrayList<Integer>();
+            frozen.forEach(forEach::add);
+            assertEquals(list, forEach);
+            assertArrayEquals(list.toArray(), frozen.toArray());
+            assertThrows(IndexOutOfBoundsException.class, () -> frozen.get(frozen.size()));
+        }
+    }
+
+    @Test
+    void isNotChangedBySmartList() {
+        var list = smartList(3);
+        var frozen = list.freeze();
+        list.set(0, 10);
+        list.add(4);
+        assertEquals(List.of(0, 1, 2), frozen);
+        assertSame(frozen, frozen.freeze());
+        assertSame(frozen, FrozenSmartList.copyOf(frozen));
+    }
+
+    @Test
+    void modificationIsUnsupported() {
+        var frozen = smartList(3).freeze();
+        assertThrows(UnsupportedOperationException.class, () -> frozen.add(1));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.set(0, 1));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.iterator().remove());
+        var single = smartList(1).freeze();
+        assertThrows(UnsupportedOperationException.class, () -> single.add(1));
+    }
+
+    @Test
+    void iteratorEnd() {
+        for (int size = 0; size < 3; size++) {
+            var iterator = smartList(size).freeze().iterator();
+            for (int i = 0; i < size; i++) {
+                assertEquals(i, iterator.next());
+            }
+            assertFalse(iterator.hasNext());
+            assertThrows(NoSuchElementException.class, iterator::next);
+        }
+    }
+
+    @Test
+    void spliteratorIsSizedAndSplits() {
+        var frozen = smartList(100).freeze();
+        var spliterator = frozen.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.IMMUTABLE | Spliterator.ORDERED));
+        assertEquals(100, spliterator.estimateSize());
+        assertNotNull(spliterator.trySplit());
+        assertEquals(4950, frozen.parallelStream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void readFromOtherThreads() throws InterruptedException {
+        var frozen = smartList(50).freeze();
+        var sum = new AtomicInteger();
+        var threads = new ArrayList<Thread>();
+        for (int i = 0; i < 4; i++) {
+            var thread = new Thread(() -> frozen.forEach(sum::addAndGet));
+            threads.add(thread);
+            thread.start();
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+        assertEquals(4 * 1225, sum.get());
+    }
+}
@@ -0,0 +1,287 @@
+package com.java.smartlist;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Tests of IntSmartList and LongSmartList, both lists are accessed through long values. */
+class PrimitiveSmartListTest {
+    /** Primitive list methods with long elements. */
+    private interface PrimitiveList {
+        /** Return the list itself. */
+        List<Number> boxed();
+
+        void add(long element);
+
+        void add(int index, long element);
+
+        long get(int index);
+
+        long set(int index, long element);
+
+        long remove(int index);
+
+        long[] toArray();
+    }
+
+    /** Types of primitive lists creating them and boxing their elements. */
+    private enum ListType {
+        INT {
+            @Override
+            PrimitiveList create() {
+                return wrap(new IntSmartList());
+            }
+
+            @Override
+            PrimitiveList create(int inlineCapacity) {
+                return wrap(new IntSmartList(inlineCapacity));
+            }
+
+            @Override
+            PrimitiveList create(long... elements) {
+                return wrap(new IntSmartList(LongStream.of(elements)
+                        .mapToObj(element -> (int) element)
+                        .collect(Collectors.toList())));
+            }
+
+            @Override
+            Number box(long element) {
+                return (int) element;
+            }
+
+            @Override
+            long randomElement(Random random) {
+                return random.nextInt();
+            }
+
+            @SuppressWarnings("unchecked")
+            private PrimitiveList wrap(IntSmartList list) {
+                return new PrimitiveList() {
+                    @Override
+                    public List<Number> boxed() {
+                        return (List<Number>) (List<?>) list;
+                    }
+
+                    @Override
+                    public void add(long element) {
+                        list.addInt((int) element);
+                    }
+
+                    @Override
+                    public void add(int index, long element) {
+                        list.addInt(index, (int) element);
+                    }
+
+                    @Override
+                    public long get(int index) {
+                        return list.getInt(index);
+                    }
+
+                    @Override
+                    public long set(int index, long element) {
+                        return list.setInt(index, (int) element);
+                    }
+
+                    @Override
+                    public long remove(int index) {
+                        return list.removeInt(index);
+                    }
+
+                    @Override
+                    public long[] toArray() {
+                        return Arrays.stream(list.toIntArray()).asLongStream().toArray();
+                    }
+                };
+            }
+        },
+
+        LONG {
+            @Override
+            PrimitiveList create() {
+                return wrap(new LongSmartList());
+            }
+
+            @Override
+            PrimitiveList create(int inlineCapacity) {
+                return wrap(new LongSmartList(inlineCapacity));
+            }
+
+            @Override
+            PrimitiveList create(long... elements) {
+                return wrap(new LongSmartList(LongStream.of(elements).boxed().collect(Collectors.toList())));
+            }
+
+            @Override
+            Number box(long element) {
+                return element;
+            }
+
+            @Override
+            long randomElement(Random random) {
+                return random.nextLong();
+            }
+
+            @SuppressWarnings("unchecked")
+            private PrimitiveList wrap(LongSmartList list) {
+                return new PrimitiveList() {
+                    @Override
+                    public List<Number> boxed() {
+                        return (List<Number>) (List<?>) list;
+                    }
+
+                    @Override
+                    public void add(long element) {
+                        list.addLong(element);
+                    }
+
+                    @Override
+                    public void add(int index, long element) {
+                        list.addLong(index, element);
+                    }
+
+                    @Override
+                    public long get(int index) {
+                        return list.getLong(index);
+                    }
+
+                    @Override
+                    public long set(int index, long element) {
+                        return list.setLong(index, element);
+                    }
+
+                    @Override
+                    public long remove(int index) {
+                        return list.removeLong(index);
+                    }
+
+                    @Override
+                    public long[] toArray() {
+                        return list.toLongArray();
+                    }
+                };
+            }
+        };
+
+        abstract PrimitiveList create();
+
+        abstract PrimitiveList create(int inlineCapacity);
+
+        abstract PrimitiveList create(long... elements);
+
+        /** Return the element boxed to the element type of the list. */
+        abstract Number box(long element);
+
+        /** Return a random value of the element type. */
+        abstract long randomElement(Random random);
+
+        List<Number> boxAll(long... elements) {
+            return LongStream.of(elements).mapToObj(this::box).collect(Collectors.toList());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(ListType.class)
+    void empty(ListType type) {
+        var list = type.create();
+        assertEquals(0, list.boxed().size());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(0));
+        assertEquals(0, list.toArray().length);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ListType.class)
+    void addGetSet(ListType type) {
+        var list = type.create();
+        for (int i = 0; i < 10; i++) {
+            list.add(i * i);
+        }
+        assertEquals(10, list.boxed().size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i * i, list.get(i));
+        }
+        assertEquals(81, list.set(9, -1));
+        assertEquals(-1, list.get(9));
+        assertEquals(type.box(1), list.boxed().set(1, type.box(2)));
+        assertEquals(type.box(2), list.boxed().get(1));
+    }
+
+    @ParameterizedTest
+    @EnumSource(ListType.class)
+    void asTheSameArrayList(ListType type) {
+        var list = type.create();
+        var random = new Random(1);
+        var expected = new ArrayList<Long>();
+        for (int i = 0; i < 10000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                long value = type.randomElement(random);
+                int index = random.nextInt(expected.size() + 1);
+                list.add(index, value);
+                expected.add(index, value);
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals((long) expected.remove(index), list.remove(index));
+            }
+            assertEquals(expected.size(), list.boxed().size());
+        }
+        var expectedArray = expected.stream().mapToLong(Long::longValue).toArray();
+        assertEquals(type.boxAll(expectedArray), list.boxed());
+        assertArrayEquals(expectedArray, list.toArray());
+    }
+
+    @ParameterizedTest
+    @EnumSource(ListType.class)
+    void singleElement(ListType type) {
+        var list = type.create();
+        list.add(5);
+        assertArrayEquals(new long[] {5}, list.toArray());
+        list.add(0, 4);
+        assertEquals(5, list.remove(1));
+        assertEquals(type.boxAll(4), list.boxed());
+        assertEquals(4, list.remove(0));
+        assertEquals(0, list.boxed().size());
+    }
+
+    private static Object arrayOf(PrimitiveList list) throws ReflectiveOperationException {
+        var field = list.boxed().getClass().getDeclaredField("array");
+        field.setAccessible(true);
+        return field.get(list.boxed());
+    }
+
+    @ParameterizedTest
+    @EnumSource(ListType.class)
+    void oscillationBetweenOneAndTwoDoesNotReallocate(ListType type) throws ReflectiveOperationException {
+        var list = type.create(0, 1);
+        var array = arrayOf(list);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(1, list.remove(1));
+            assertArrayEquals(new long[] {0}, list.toArray());
+            list.add(1);
+            assertSame(array, arrayOf(list));
+        }
+        assertEquals(type.boxAll(0, 1), list.boxed());
+    }
+
+    @ParameterizedTest
+    @EnumSource(ListType.class)
+    void listMethods(ListType type) {
+        var list = type.create(1, 2, 3).boxed();
+        list.add(type.box(4));
+        list.remove(type.box(2));
+        assertEquals(type.boxAll(1, 3, 4), list);
+        assertTrue(list.contains(type.box(3)));
+        list.clear();
+        assertEquals(List.of(), list);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ListType.class)
+    void wrongInlineCapacity(ListType type) {
+        assertThrows(IllegalArgumentException.class, () -> type.create(0));
+    }
+}
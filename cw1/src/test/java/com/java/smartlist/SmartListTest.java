@@ -280,6 +280,204 @@ class SmartListTest {
         assertEquals(Collections.emptyList(), list);
     }
 
+    @Test
+    void inlineCapacity() {
+        var list = new SmartList<Integer>(2);
+        var expected = new ArrayList<Integer>();
+        for (int i = 0; i < 20; i++) {
+            list.add(i / 2, i);
+            expected.add(i / 2, i);
+            assertEquals(expected, list);
+        }
+        for (int i = 0; i < 20; i++) {
+            assertEquals(expected.remove(expected.size() / 2), list.remove(list.size() / 2));
+            assertEquals(expected, list);
+        }
+        assertThrows(IllegalArgumentException.class, () -> new SmartList<Integer>(0));
+    }
+
+    @Test
+    void collectionConstructorWithInlineCapacity() {
+        var elements = List.of(1, 2, 3, 4, 5, 6, 7);
+        var list = new SmartList<>(10, elements);
+        assertEquals(elements, list);
+        list.add(8);
+        assertEquals(8, list.size());
+        assertEquals(8, list.get(7));
+    }
+
+    @Test
+    void clear() {
+        for (int i = 0; i < 10; i++) {
+            integerSmartList.add(i);
+        }
+        integerSmartList.clear();
+        assertEquals(0, integerSmartList.size());
+        integerSmartList.add(1);
+        assertEquals(List.of(1), integerSmartList);
+    }
+
+    @Test
+    void iteratorAfterModification() {
+        integerSmartList.add(1);
+        var iterator = integerSmartList.iterator();
+        integerSmartList.add(2);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
+    private static Object dataOf(SmartList<?> list) throws ReflectiveOperationException {
+        var field = SmartList.class.getDeclaredField("data");
+        field.setAccessible(true);
+        return field.get(list);
+    }
+
+    @Test
+    void oscillationDoesNotReallocate() throws ReflectiveOperationException {
+        for (int i = 0; i < 5; i++) {
+            integerSmartList.add(i);
+        }
+        integerSmartList.add(5);
+        var data = dataOf(integerSmartList);
+        for (int i = 0; i < 100; i++) {
+            integerSmartList.remove(5);
+            integerSmartList.add(5);
+            assertSame(data, dataOf(integerSmartList));
+        }
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), integerSmartList);
+    }
+
+    @Test
+    void oscillationBetweenOneAndTwoDoesNotReallocate() throws ReflectiveOperationException {
+        integerSmartList.add(0);
+        integerSmartList.add(1);
+        var data = dataOf(integerSmartList);
+        for (int i = 0; i < 100; i++) {
+            int index = i % 2;
+            assertEquals(index, integerSmartList.remove(index));
+            assertEquals(List.of(1 - index), integerSmartList);
+            integerSmartList.add(index, index);
+            assertSame(data, dataOf(integerSmartList));
+        }
+        assertEquals(List.of(0, 1), integerSmartList);
+    }
+
+    @Test
+    void arrayGrowsInSteps() throws ReflectiveOperationException {
+        var arrays = new HashSet<Object>();
+        for (int i = 0; i < SmartList.DEFAULT_INLINE_CAPACITY; i++) {
+            integerSmartList.add(i);
+            if (i > 0) {
+                arrays.add(dataOf(integerSmartList));
+            }
+        }
+        assertEquals(3, arrays.size());
+        assertEquals(List.of(0, 1, 2, 3, 4), integerSmartList);
+        assertEquals(3, ((Object[]) dataOf(new SmartList<>(List.of(0, 1, 2)))).length);
+    }
+
+    @Test
+    void singleArrayElement() {
+        var list = new SmartList<Object>();
+        var element = new Object[] {1, 2};
+        list.add(element);
+        assertSame(element, list.get(0));
+        list.add("a");
+        list.remove(1);
+        assertSame(element, list.get(0));
+        assertEquals(1, list.size());
+        list.set(0, "b");
+        list.set(0, element);
+        assertSame(element, list.get(0));
+        assertSame(element, list.freeze().get(0));
+        list.clear();
+        list.add("c");
+        list.set(0, element);
+        assertSame(element, list.get(0));
+        assertEquals(1, list.size());
+        assertTrue(list.removeIf(e -> e == element));
+        assertEquals(List.of(), list);
+    }
+
+    @Test
+    void sparseArrayShrinks() throws ReflectiveOperationException {
+        for (int i = 0; i < 100; i++) {
+            integerSmartList.add(i);
+        }
+        while (integerSmartList.size() > 3) {
+            integerSmartList.remove(0);
+        }
+        assertEquals(List.of(97, 98, 99), integerSmartList);
+        assertTrue(((Object[]) dataOf(integerSmartList)).length <= 12);
+    }
+
+    @Test
+    void addAll() {
+        var expected = new ArrayList<Integer>();
+        assertFalse(integerSmartList.addAll(List.of()));
+        integerSmartList.addAll(List.of(1));
+        expected.addAll(List.of(1));
+        assertEquals(expected, integerSmartList);
+        integerSmartList.addAll(0, List.of(2, 3));
+        expected.addAll(0, List.of(2, 3));
+        assertEquals(expected, integerSmartList);
+        integerSmartList.addAll(1, List.of(4, 5, 6, 7));
+        expected.addAll(1, List.of(4, 5, 6, 7));
+        assertEquals(expected, integerSmartList);
+        integerSmartList.addAll(List.of(8));
+        expected.addAll(List.of(8));
+        assertEquals(expected, integerSmartList);
+        integerSmartList.addAll(integerSmartList);
+        expected.addAll(new ArrayList<>(expected));
+        assertEquals(expected, integerSmartList);
+        assertThrows(IndexOutOfBoundsException.class, () -> integerSmartList.addAll(-1, List.of(1)));
+    }
+
+    @Test
+    void addAllToSingleElement() {
+        integerSmartList.add(1);
+        integerSmartList.addAll(0, List.of(2));
+        assertEquals(List.of(2, 1), integerSmartList);
+    }
+
+    @Test
+    void removeIf() {
+        for (int i = 0; i < 20; i++) {
+            integerSmartList.add(i);
+        }
+        assertFalse(integerSmartList.removeIf(i -> i < 0));
+        assertTrue(integerSmartList.removeIf(i -> i % 2 == 0));
+        assertEquals(List.of(1, 3, 5, 7, 9, 11, 13, 15, 17, 19), integerSmartList);
+        assertTrue(integerSmartList.removeIf(i -> i != 7));
+        assertEquals(List.of(7), integerSmartList);
+        assertEquals(7, integerSmartList.get(0));
+        assertTrue(integerSmartList.removeIf(i -> true));
+        assertEquals(List.of(), integerSmartList);
+    }
+
+    @Test
+    void removeIfFailingFilter() {
+        characterSmartList.add('d');
+        assertThrows(IllegalStateException.class, () -> characterSmartList.removeIf(c -> {
+            if (c == 'c') {
+                throw new IllegalStateException();
+            }
+            return true;
+        }));
+        assertEquals(List.of('a', 'b', 'c', 'd'), characterSmartList);
+    }
+
+    @Test
+    void removeAllAndRetainAll() {
+        for (int i = 0; i < 10; i++) {
+            integerSmartList.add(i);
+        }
+        assertTrue(integerSmartList.removeAll(List.of(1, 2, 3)));
+        assertEquals(List.of(0, 4, 5, 6, 7, 8, 9), integerSmartList);
+        assertTrue(integerSmartList.retainAll(List.of(4, 9)));
+        assertEquals(List.of(4, 9), integerSmartList);
+        assertFalse(integerSmartList.retainAll(List.of(4, 9)));
+    }
+
     private static <T> List<T> newList() {
         try {
             return (List<T>) getListClass().getConstructor().newInstance();
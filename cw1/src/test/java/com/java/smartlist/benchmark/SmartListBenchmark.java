@@ -0,0 +1,187 @@
+package com.java.smartlist.benchmark;
+
+import com.java.smartlist.IntSmartList;
+import com.java.smartlist.SmartList;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Application measuring memory footprint and throughput of SmartList
+ * compared with ArrayList and List.of.
+ * Lists are built with sizes distributed as in our data: most lists are empty or very small.
+ * Retained memory is measured as the heap growth after garbage collection,
+ * allocation is measured by the thread allocation counter if the JVM provides it.
+ * Elements are cached Integer values, so only the lists themselves are measured.
+ */
+public class SmartListBenchmark {
+    private static final int DEFAULT_LISTS = 1_000_000;
+    private static final int ROUNDS = 5;
+    private static final int OSCILLATIONS = 1_000_000;
+
+    /**
+     * Sum of read elements, printed so reads are not eliminated.
+     */
+    private static long checksum = 0;
+
+    /**
+     * Main function.
+     * @param args args[0] can contain the number of lists, one million by default
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_LISTS;
+        var contents = contents(count, new Random(1));
+        var factories = new LinkedHashMap<String, Function<Integer[], List<Integer>>>();
+        factories.put("SmartList", elements -> addAll(new SmartList<>(), elements));
+        factories.put("IntSmartList", elements -> addAll(new IntSmartList(), elements));
+        factories.put("ArrayList", elements -> addAll(new ArrayList<>(), elements));
+        factories.put("List.of", List::of);
+
+        System.out.printf("Lists: %d, average size: %.2f%n", count, averageSize(contents));
+        System.out.printf("%-14s %14s %14s %12s %12s %12s%n",
+                "list", "retained B", "allocated B", "build ms", "get ms", "iterate ms");
+        for (Map.Entry<String, Function<Integer[], List<Integer>>> factory : factories.entrySet()) {
+            measure(factory.getKey(), factory.getValue(), contents);
+        }
+
+        for (int low : new int[] {1, 5}) {
+            System.out.println();
+            System.out.printf("Oscillation between %d and %d elements, %d times:%n", low, low + 1, OSCILLATIONS);
+            oscillate("SmartList", new SmartList<>(), low);
+            oscillate("IntSmartList", new IntSmartList(), low);
+            oscillate("ArrayList", new ArrayList<>(), low);
+        }
+        System.out.println("checksum " + checksum);
+    }
+
+    /**
+     * Elements of lists: 30% empty, 30% single, 30% from 2 to 5 elements, 10% from 6 to 20 elements.
+     */
+    private static Integer[][] contents(int count, Random random) {
+        var contents = new Integer[count][];
+        for (int i = 0; i < count; i++) {
+            int kind = random.nextInt(10);
+            int size = kind < 3 ? 0 : kind < 6 ? 1 : kind < 9 ? 2 + random.nextInt(4) : 6 + random.nextInt(15);
+            var elements = new Integer[size];
+            for (int j = 0; j < size; j++) {
+                elements[j] = random.nextInt(128);
+            }
+            contents[i] = elements;
+        }
+        return contents;
+    }
+
+    private static double averageSize(Integer[][] contents) {
+        long total = 0;
+        for (var elements : contents) {
+            total += elements.length;
+        }
+        return (double) total / contents.length;
+    }
+
+    private static List<Integer> addAll(List<Integer> list, Integer[] elements) {
+        for (var element : elements) {
+            list.add(element);
+        }
+        return list;
+    }
+
+    private static List<?>[] build(Function<Integer[], List<Integer>> factory, Integer[][] contents) {
+        var lists = new List<?>[contents.length];
+        for (int i = 0; i < contents.length; i++) {
+            lists[i] = factory.apply(contents[i]);
+        }
+        return lists;
+    }
+
+    /**
+     * Print memory per list and the best time of several rounds of building, reading by index and iterating.
+     */
+    private static void measure(String name, Function<Integer[], List<Integer>> factory, Integer[][] contents) {
+        long usedBefore = usedMemory();
+        long allocatedBefore = allocatedBytes();
+        var lists = build(factory, contents);
+        long allocated = allocatedBytes() - allocatedBefore;
+        long retained = usedMemory() - usedBefore;
+        Reference.reachabilityFence(lists);
+        lists = null;
+
+        long buildTime = Long.MAX_VALUE;
+        long getTime = Long.MAX_VALUE;
+        long iterateTime = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            lists = build(factory, contents);
+            buildTime = Math.min(buildTime, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (var list : lists) {
+                for (int i = 0; i < list.size(); i++) {
+                    checksum += (Integer) list.get(i);
+                }
+            }
+            getTime = Math.min(getTime, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (var list : lists) {
+                for (var element : list) {
+                    checksum += (Integer) element;
+                }
+            }
+            iterateTime = Math.min(iterateTime, System.nanoTime() - start);
+        }
+        System.out.printf("%-14s %14.1f %14s %12.1f %12.1f %12.1f%n", name,
+                (double) retained / contents.length,
+                allocatedBefore < 0 ? "n/a" : String.format("%.1f", (double) allocated / contents.length),
+                buildTime / 1e6, getTime / 1e6, iterateTime / 1e6);
+    }
+
+    /**
+     * Print bytes allocated and time spent while the list size oscillates between low and low + 1.
+     */
+    private static void oscillate(String name, List<Integer> list, int low) {
+        for (int i = 0; i <= low; i++) {
+            list.add(i);
+        }
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < OSCILLATIONS; i++) {
+            checksum += list.remove(low);
+            list.add(i & 127);
+        }
+        long time = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        System.out.printf("%-14s %14s bytes allocated %10.1f ms%n", name,
+                allocatedBefore < 0 ? "n/a" : String.valueOf(allocated), time / 1e6);
+    }
+
+    /**
+     * Heap usage after garbage collection.
+     */
+    private static long usedMemory() {
+        var runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+
+    /**
+     * Bytes allocated by the current thread or -1 if the JVM does not count them.
+     */
+    private static long allocatedBytes() {
+        var bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,144 @@
+package com.java.trie;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Aho-Corasick automaton finds all occurrences of a set of patterns in a text in one pass.
+ * Made by Trie.toAhoCorasick(). Empty pattern is never reported.
+ */
+public class AhoCorasick {
+    /**
+     * Receives pattern occurrences found in a text
+     */
+    public interface MatchListener {
+        /**
+         * Called for every occurrence of a pattern
+         * @param end index in the text after the last character of the occurrence
+         * @param pattern found pattern
+         */
+        void onMatch(long end, String pattern);
+    }
+
+    private static final int ROOT = 0;
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Transitions of state i are stored in edgeCharacters and edgeTargets
+     * from edgeStarts[i] to edgeStarts[i + 1] sorted by character.
+     * States are numbered in breadth-first order, so parents go before children.
+     */
+    private final int[] edgeStarts;
+    private final char[] edgeCharacters;
+    private final int[] edgeTargets;
+
+    /**
+     * Pattern that ends in the state or null if state is not terminal
+     */
+    private final String[] patterns;
+
+    /**
+     * State of the longest proper suffix of the state string that is in the trie
+     */
+    private final int[] failureLinks;
+
+    /**
+     * Closest terminal state by failure links or -1 if there is none
+     */
+    private final int[] outputLinks;
+
+    /**
+     * Construct automaton and compute failure links
+     * @param edgeStarts transition ranges of states in breadth-first order
+     * @param edgeCharacters transition characters
+     * @param edgeTargets transition targets
+     * @param patterns pattern of every terminal state
+     */
+    AhoCorasick(int[] edgeStarts, char[] edgeCharacters, int[] edgeTargets, String[] patterns) {
+        this.edgeStarts = edgeStarts;
+        this.edgeCharacters = edgeCharacters;
+        this.edgeTargets = edgeTargets;
+        this.patterns = patterns;
+        failureLinks = new int[patterns.length];
+        outputLinks = new int[patterns.length];
+        outputLinks[ROOT] = -1;
+        for (int state = 0; state < patterns.length; state++) {
+            for (int i = edgeStarts[state]; i < edgeStarts[state + 1]; i++) {
+                int target = edgeTargets[i];
+                int failure = state == ROOT ? ROOT : step(failureLinks[state], edgeCharacters[i]);
+                failureLinks[target] = failure;
+                outputLinks[target] = patterns[failure] != null ? failure : outputLinks[failure];
+            }
+        }
+    }
+
+    /**
+     * Find all pattern occurrences in the text
+     * @param text text to scan, for example CharBuffer
+     * @param listener receiver of occurrences
+     * @throws IllegalArgumentException if text or listener is null
+     */
+    public void scan(CharSequence text, MatchListener listener) throws IllegalArgumentException {
+        if (text == null || listener == null) {
+            throw new IllegalArgumentException("Text and listener should not be null.");
+        }
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = step(state, text.charAt(i));
+            report(state, i + 1, listener);
+        }
+    }
+
+    /**
+     * Find all pattern occurrences in the text read from the reader
+     * @param reader text source, it is not closed
+     * @param listener receiver of occurrences
+     * @throws IllegalArgumentException if reader or listener is null
+     * @throws IOException if an I/O error occurs
+     */
+    public void scan(Reader reader, MatchListener listener) throws IllegalArgumentException, IOException {
+        if (reader == null || listener == null) {
+            throw new IllegalArgumentException("Reader and listener should not be null.");
+        }
+        var buffer = new char[BUFFER_SIZE];
+        int state = ROOT;
+        long position = 0;
+        int length;
+        while ((length = reader.read(buffer)) != -1) {
+            for (int i = 0; i < length; i++) {
+                state = step(state, buffer[i]);
+                position++;
+                report(state, position, listener);
+            }
+        }
+    }
+
+    /**
+     * Report all patterns that end in the state
+     */
+    private void report(int state, long end, MatchListener listener) {
+        if (patterns[state] != null) {
+            listener.onMatch(end, patterns[state]);
+        }
+        for (int output = outputLinks[state]; output >= 0; output = outputLinks[output]) {
+            listener.onMatch(end, patterns[output]);
+        }
+    }
+
+    /**
+     * Transition of the automaton using failure links if there is no direct transition
+     */
+    private int step(int state, char character) {
+        while (true) {
+            int index = Arrays.binarySearch(edgeCharacters, edgeStarts[state], edgeStarts[state + 1], character);
+            if (index >= 0) {
+                return edgeTargets[index];
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = failureLinks[state];
+        }
+    }
+}
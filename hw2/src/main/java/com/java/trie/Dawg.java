@@ -0,0 +1,192 @@
+package com.java.trie;
+
+import java.util.*;
+
+/**
+ * Read-only set of strings stored as a minimal acyclic automaton.
+ * States with the same set of suffixes are shared, so common suffixes are stored once.
+ * Made by Trie.freeze()
+ */
+public class Dawg {
+    /**
+     * True iff string ending in the state is in the set
+     */
+    private final boolean[] isTerminal;
+
+    /**
+     * Number of strings that can be read from the state
+     */
+    private final int[] counts;
+
+    /**
+     * Transitions of state i are stored in edgeCharacters and edgeTargets
+     * from edgeStarts[i] to edgeStarts[i + 1] sorted by character
+     */
+    private final int[] edgeStarts;
+    private final char[] edgeCharacters;
+    private final int[] edgeTargets;
+
+    private final int root;
+
+    private Dawg(boolean[] isTerminal, int[] counts, int[] edgeStarts,
+                 char[] edgeCharacters, int[] edgeTargets, int root) {
+        this.isTerminal = isTerminal;
+        this.counts = counts;
+        this.edgeStarts = edgeStarts;
+        this.edgeCharacters = edgeCharacters;
+        this.edgeTargets = edgeTargets;
+        this.root = root;
+    }
+
+    /**
+     * Check if the set contains the string
+     * @param string string to find
+     * @return true iff the set contains the string
+     * @throws IllegalArgumentException if string is null
+     */
+    public boolean contains(String string) throws IllegalArgumentException {
+        if (string == null) {
+            throw new IllegalArgumentException("String should not be null.");
+        }
+        int state = walk(string);
+        return state >= 0 && isTerminal[state];
+    }
+
+    /**
+     * Set size
+     * @return number of strings in the set
+     */
+    public int size() {
+        return counts[root];
+    }
+
+    /**
+     * How many strings in the set starts with such prefix
+     * @throws IllegalArgumentException if prefix is null
+     */
+    public int howManyStartsWithPrefix(String prefix) throws IllegalArgumentException {
+        if (prefix == null) {
+            throw new IllegalArgumentException("Prefix should not be null.");
+        }
+        int state = walk(prefix);
+        return state < 0 ? 0 : counts[state];
+    }
+
+    /**
+     * Number of states in the automaton
+     */
+    public int stateCount() {
+        return counts.length;
+    }
+
+    /**
+     * Find state reached by reading the string from the root
+     * @return state or -1 if there is no such path
+     */
+    private int walk(String string) {
+        int state = root;
+        for (int i = 0; i < string.length() && state >= 0; i++) {
+            state = getNext(state, string.charAt(i));
+        }
+        return state;
+    }
+
+    /**
+     * Find transition by binary search
+     * @return next state or -1 if there is no such transition
+     */
+    private int getNext(int state, char character) {
+        int index = Arrays.binarySearch(edgeCharacters, edgeStarts[state], edgeStarts[state + 1], character);
+        return index < 0 ? -1 : edgeTargets[index];
+    }
+
+    /**
+     * Collects states bottom-up and merges states that are equal.
+     * States are equal iff they have equal terminal flags and equal transitions,
+     * so children should be added before their parents.
+     */
+    static class Builder {
+        /**
+         * Full description of a state used as a key for merging
+         */
+        private static class StateKey {
+            private final boolean isTerminal;
+            private final char[] characters;
+            private final int[] targets;
+
+            private StateKey(boolean isTerminal, char[] characters, int[] targets) {
+                this.isTerminal = isTerminal;
+                this.characters = characters;
+                this.targets = targets;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (!(other instanceof StateKey)) {
+                    return false;
+                }
+                var key = (StateKey) other;
+                return isTerminal == key.isTerminal
+                        && Arrays.equals(characters, key.characters)
+                        && Arrays.equals(targets, key.targets);
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * (31 * Boolean.hashCode(isTerminal) + Arrays.hashCode(characters))
+                        + Arrays.hashCode(targets);
+            }
+        }
+
+        private final HashMap<StateKey, Integer> register = new HashMap<>();
+        private final ArrayList<StateKey> states = new ArrayList<>();
+        private final ArrayList<Integer> counts = new ArrayList<>();
+        private int edgeNumber = 0;
+
+        /**
+         * Add state or find an equal one
+         * @param isTerminal if state is terminal
+         * @param characters transition characters sorted in ascending order
+         * @param targets states returned by previous calls
+         * @return state number
+         */
+        int addState(boolean isTerminal, char[] characters, int[] targets) {
+            var key = new StateKey(isTerminal, characters, targets);
+            var state = register.get(key);
+            if (state != null) {
+                return state;
+            }
+            int count = isTerminal ? 1 : 0;
+            for (int target : targets) {
+                count += counts.get(target);
+            }
+            register.put(key, states.size());
+            states.add(key);
+            counts.add(count);
+            edgeNumber += characters.length;
+            return states.size() - 1;
+        }
+
+        /**
+         * Construct automaton
+         * @param root root state
+         */
+        Dawg build(int root) {
+            int stateNumber = states.size();
+            var isTerminal = new boolean[stateNumber];
+            var stateCounts = new int[stateNumber];
+            var edgeStarts = new int[stateNumber + 1];
+            var edgeCharacters = new char[edgeNumber];
+            var edgeTargets = new int[edgeNumber];
+            for (int i = 0; i < stateNumber; i++) {
+                var key = states.get(i);
+                isTerminal[i] = key.isTerminal;
+                stateCounts[i] = counts.get(i);
+                System.arraycopy(key.characters, 0, edgeCharacters, edgeStarts[i], key.characters.length);
+                System.arraycopy(key.targets, 0, edgeTargets, edgeStarts[i], key.targets.length);
+                edgeStarts[i + 1] = edgeStarts[i] + key.characters.length;
+            }
+            return new Dawg(isTerminal, stateCounts, edgeStarts, edgeCharacters, edgeTargets, root);
+        }
+    }
+}
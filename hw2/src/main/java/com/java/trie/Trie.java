@@ -2,6 +2,8 @@ package com.java.trie;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Trie stores a dynamic set of strings
@@ -102,6 +104,185 @@ public class Trie implements Serializable {
         size = 0;
     }
 
+    /**
+     * Build a trie from strings sorted in ascending order in linear time.
+     * Equal neighbouring strings are added once.
+     * @param strings sorted strings
+     * @return trie containing all the strings
+     * @throws IllegalArgumentException if strings are not sorted or contain null
+     */
+    public static Trie fromSorted(Iterable<String> strings) throws IllegalArgumentException {
+        if (strings == null) {
+            throw new IllegalArgumentException("Strings should not be null.");
+        }
+        var trie = new Trie();
+        var builder = trie.new SortedTrieBuilder(0);
+        for (String string : strings) {
+            builder.append(string);
+        }
+        trie.root = builder.finish();
+        trie.size = builder.count;
+        return trie;
+    }
+
+    /**
+     * Build a trie from strings sorted in ascending order in linear time.
+     * Subtries for different first characters are built in parallel.
+     * Equal neighbouring strings are added once.
+     * @param strings sorted strings
+     * @param pool pool to build subtries in
+     * @return trie containing all the strings
+     * @throws IllegalArgumentException if strings are not sorted or contain null
+     */
+    public static Trie fromSorted(List<String> strings, ForkJoinPool pool) throws IllegalArgumentException {
+        if (strings == null || pool == null) {
+            throw new IllegalArgumentException("Strings and pool should not be null.");
+        }
+        var trie = new Trie();
+        int from = 0;
+        while (from < strings.size() && isEmptyString(strings.get(from))) {
+            trie.root.setTerminal(true);
+            from++;
+        }
+        var tasks = new ArrayList<ForkJoinTask<Vertex>>();
+        var firstCharacters = new ArrayList<Character>();
+        while (from < strings.size()) {
+            char firstCharacter = strings.get(from).charAt(0);
+            int to = from + 1;
+            while (to < strings.size() && !isEmptyString(strings.get(to))
+                    && strings.get(to).charAt(0) == firstCharacter) {
+                to++;
+            }
+            if (to < strings.size() && (strings.get(to).isEmpty() || strings.get(to).charAt(0) < firstCharacter)) {
+                throw new IllegalArgumentException("Strings should be sorted.");
+            }
+            var subList = strings.subList(from, to);
+            tasks.add(ForkJoinTask.adapt(() -> trie.buildSubTrie(subList)));
+            firstCharacters.add(firstCharacter);
+            from = to;
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+
+        int size = trie.root.isTerminal() ? 1 : 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            var vertex = tasks.get(i).join();
+            trie.root.setNext(firstCharacters.get(i), vertex);
+            size += vertex.getSubTrieSize();
+        }
+        trie.root.setSubTrieSize(size);
+        trie.size = size;
+        return trie;
+    }
+
+    /**
+     * Check if string is empty
+     * @throws IllegalArgumentException if string is null
+     */
+    private static boolean isEmptyString(String string) throws IllegalArgumentException {
+        if (string == null) {
+            throw new IllegalArgumentException("String should not be null.");
+        }
+        return string.isEmpty();
+    }
+
+    /**
+     * Builds a subtrie from sorted strings keeping only the path of the last added string.
+     * Vertices that leave the path are complete, so their subTrieSize is passed to the parent.
+     */
+    private class SortedTrieBuilder {
+        /**
+         * Length of the prefix that all the strings share and that is not stored in the subtrie
+         */
+        private final int depth;
+
+        /**
+         * Path from the subtrie root to the vertex of the last added string
+         */
+        private final ArrayList<Vertex> path = new ArrayList<>();
+
+        private String previous;
+
+        /**
+         * Number of different strings added
+         */
+        private int count;
+
+        /**
+         * Construct builder
+         * @param depth length of the common prefix of all the strings
+         */
+        private SortedTrieBuilder(int depth) {
+            this.depth = depth;
+            path.add(new Vertex());
+        }
+
+        /**
+         * Add string that is not less than the previous one
+         * @throws IllegalArgumentException if string is null or strings are not sorted
+         */
+        private void append(String string) throws IllegalArgumentException {
+            if (string == null) {
+                throw new IllegalArgumentException("String should not be null.");
+            }
+            int commonPrefix = depth;
+            if (previous != null) {
+                int result = previous.compareTo(string);
+                if (result > 0) {
+                    throw new IllegalArgumentException("Strings should be sorted.");
+                }
+                if (result == 0) {
+                    return;
+                }
+                while (commonPrefix < previous.length() && previous.charAt(commonPrefix) == string.charAt(commonPrefix)) {
+                    commonPrefix++;
+                }
+            }
+            collapse(commonPrefix - depth + 1);
+            for (int i = commonPrefix; i < string.length(); i++) {
+                var vertex = new Vertex();
+                path.get(path.size() - 1).setNext(string.charAt(i), vertex);
+                path.add(vertex);
+            }
+            var last = path.get(path.size() - 1);
+            last.setTerminal(true);
+            last.incSubTrieSize();
+            previous = string;
+            count++;
+        }
+
+        /**
+         * Remove vertices from the path until it has the given length
+         */
+        private void collapse(int length) {
+            while (path.size() > length) {
+                var vertex = path.remove(path.size() - 1);
+                var parent = path.get(path.size() - 1);
+                parent.setSubTrieSize(parent.getSubTrieSize() + vertex.getSubTrieSize());
+            }
+        }
+
+        /**
+         * Complete building
+         * @return subtrie root
+         */
+        private Vertex finish() {
+            collapse(1);
+            return path.get(0);
+        }
+    }
+
+    /**
+     * Build a subtrie of sorted strings with the same first character
+     * @return subtrie root
+     */
+    private Vertex buildSubTrie(List<String> strings) {
+        var builder = new SortedTrieBuilder(1);
+        for (String string : strings) {
+            builder.append(string);
+        }
+        return builder.finish();
+    }
+
     /**
      * Add new string
      * @param string string to add
@@ -204,6 +385,276 @@ public class Trie implements Serializable {
         return currentVertex.getSubTrieSize();
     }
 
+    /**
+     * Find strings within the edit distance from the query.
+     * Strings are found lazily while iterating.
+     * Iterator is invalid if the trie is modified.
+     * @param query string to compare with
+     * @param maxDistance maximum Levenshtein distance between the query and found strings
+     * @return iterator over found strings
+     * @throws IllegalArgumentException if query is null or maxDistance is negative
+     */
+    public Iterator<String> fuzzySearch(String query, int maxDistance) throws IllegalArgumentException {
+        if (query == null) {
+            throw new IllegalArgumentException("Query should not be null.");
+        }
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("Distance should not be negative.");
+        }
+        return new FuzzyIterator(query, maxDistance);
+    }
+
+    /**
+     * Iterator walks the trie keeping a row of Levenshtein matrix for every vertex.
+     * Row[i] is the distance between the query prefix of length i and the string of the vertex.
+     * Subtrees whose row minimum is greater than maxDistance are skipped, as row minimum cannot decrease.
+     */
+    private class FuzzyIterator implements Iterator<String> {
+        /**
+         * Vertex to visit with its string and row
+         */
+        private class Frame {
+            private final Vertex vertex;
+            private final String string;
+            private final int[] row;
+
+            private Frame(Vertex vertex, String string, int[] row) {
+                this.vertex = vertex;
+                this.string = string;
+                this.row = row;
+            }
+        }
+
+        private final String query;
+        private final int maxDistance;
+        private final ArrayDeque<Frame> stack = new ArrayDeque<>();
+        private String nextString;
+
+        private FuzzyIterator(String query, int maxDistance) {
+            this.query = query;
+            this.maxDistance = maxDistance;
+            var row = new int[query.length() + 1];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = i;
+            }
+            stack.push(new Frame(root, "", row));
+            advance();
+        }
+
+        /**
+         * Find next string within the distance
+         */
+        private void advance() {
+            nextString = null;
+            while (!stack.isEmpty() && nextString == null) {
+                var frame = stack.pop();
+                for (var entry : frame.vertex.getNexts()) {
+                    var row = nextRow(frame.row, entry.getKey());
+                    if (row != null) {
+                        stack.push(new Frame(entry.getValue(), frame.string + entry.getKey(), row));
+                    }
+                }
+                if (frame.vertex.isTerminal() && frame.row[query.length()] <= maxDistance) {
+                    nextString = frame.string;
+                }
+            }
+        }
+
+        /**
+         * Compute the row for the string extended with the character
+         * @return new row or null if all its values are greater than maxDistance
+         */
+        private int[] nextRow(int[] previous, char character) {
+            var row = new int[previous.length];
+            row[0] = previous[0] + 1;
+            int minimum = row[0];
+            for (int i = 1; i < row.length; i++) {
+                int replace = previous[i - 1] + (query.charAt(i - 1) == character ? 0 : 1);
+                row[i] = Math.min(replace, Math.min(previous[i], row[i - 1]) + 1);
+                minimum = Math.min(minimum, row[i]);
+            }
+            return minimum <= maxDistance ? row : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextString != null;
+        }
+
+        /**
+         * Move iterator to the next found string.
+         * @throws NoSuchElementException if hasNext() == false
+         */
+        @Override
+        public String next() throws NoSuchElementException {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Next element is null.");
+            }
+            var result = nextString;
+            advance();
+            return result;
+        }
+    }
+
+    /**
+     * Approximate sizes of objects on a 64-bit JVM with compressed references
+     */
+    private static final int TRIE_BYTES = 24;
+    private static final int VERTEX_BYTES = 32;
+    private static final int HASH_MAP_BYTES = 48;
+    private static final int HASH_MAP_ENTRY_BYTES = 32;
+    private static final int CHARACTER_BYTES = 16;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+
+    /**
+     * Collect shape statistics and estimate memory usage in one pass
+     * @return trie statistics
+     */
+    public TrieStatistics statistics() {
+        var depthHistogram = new ArrayList<Integer>();
+        var branchingHistogram = new ArrayList<Integer>();
+        int vertexCount = 0;
+        int terminalCount = 0;
+        long bytes = TRIE_BYTES;
+
+        var vertices = new ArrayDeque<Vertex>();
+        var depths = new ArrayDeque<Integer>();
+        vertices.push(root);
+        depths.push(0);
+        while (!vertices.isEmpty()) {
+            var vertex = vertices.pop();
+            int depth = depths.pop();
+            int children = vertex.next.size();
+            vertexCount++;
+            if (vertex.isTerminal()) {
+                terminalCount++;
+            }
+            increment(depthHistogram, depth);
+            increment(branchingHistogram, children);
+            bytes += VERTEX_BYTES + HASH_MAP_BYTES + (long) children * HASH_MAP_ENTRY_BYTES;
+            if (children > 0) {
+                bytes += ARRAY_HEADER_BYTES + (long) hashTableCapacity(children) * REFERENCE_BYTES;
+            }
+            for (var entry : vertex.getNexts()) {
+                if (entry.getKey() > Byte.MAX_VALUE) {
+                    bytes += CHARACTER_BYTES;
+                }
+                vertices.push(entry.getValue());
+                depths.push(depth + 1);
+            }
+        }
+        return new TrieStatistics(vertexCount, terminalCount,
+                toArray(depthHistogram), toArray(branchingHistogram), bytes);
+    }
+
+    /**
+     * Table size of a HashMap with default load factor after adding the number of entries
+     */
+    private static int hashTableCapacity(int entries) {
+        int capacity = 16;
+        while (entries > capacity * 3 / 4) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    private static void increment(ArrayList<Integer> histogram, int index) {
+        while (histogram.size() <= index) {
+            histogram.add(0);
+        }
+        histogram.set(index, histogram.get(index) + 1);
+    }
+
+    private static int[] toArray(ArrayList<Integer> list) {
+        var array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Make a read-only copy of the trie that shares common suffixes
+     * @return minimal automaton accepting the same strings
+     */
+    public Dawg freeze() {
+        var builder = new Dawg.Builder();
+        return builder.build(freeze(root, builder));
+    }
+
+    /**
+     * Recursively add states of the subtrie to the builder, children first
+     * @return state of the vertex
+     */
+    private int freeze(Vertex vertex, Dawg.Builder builder) {
+        var nexts = new ArrayList<>(vertex.getNexts());
+        nexts.sort(Map.Entry.comparingByKey());
+        var characters = new char[nexts.size()];
+        var targets = new int[nexts.size()];
+        for (int i = 0; i < nexts.size(); i++) {
+            characters[i] = nexts.get(i).getKey();
+            targets[i] = freeze(nexts.get(i).getValue(), builder);
+        }
+        return builder.addState(vertex.isTerminal(), characters, targets);
+    }
+
+    /**
+     * Make an automaton finding all the strings of the trie in a text
+     * @return Aho-Corasick automaton built on a copy of the trie
+     */
+    public AhoCorasick toAhoCorasick() {
+        var vertices = new ArrayList<Vertex>();
+        var parents = new ArrayList<Integer>();
+        var characters = new StringBuilder();
+        var edgeStarts = new int[vertexCount() + 1];
+        var edgeTargets = new int[edgeStarts.length - 2];
+        vertices.add(root);
+        parents.add(-1);
+        characters.append((char) 0);
+        for (int i = 0; i < vertices.size(); i++) {
+            var nexts = new ArrayList<>(vertices.get(i).getNexts());
+            nexts.sort(Map.Entry.comparingByKey());
+            edgeStarts[i + 1] = edgeStarts[i] + nexts.size();
+            for (var entry : nexts) {
+                edgeTargets[vertices.size() - 1] = vertices.size();
+                vertices.add(entry.getValue());
+                parents.add(i);
+                characters.append(entry.getKey().charValue());
+            }
+        }
+
+        var patterns = new String[vertices.size()];
+        for (int i = 1; i < vertices.size(); i++) {
+            if (vertices.get(i).isTerminal()) {
+                var pattern = new StringBuilder();
+                for (int vertex = i; vertex != 0; vertex = parents.get(vertex)) {
+                    pattern.append(characters.charAt(vertex));
+                }
+                patterns[i] = pattern.reverse().toString();
+            }
+        }
+        var edgeCharacters = new char[edgeTargets.length];
+        characters.getChars(1, characters.length(), edgeCharacters, 0);
+        return new AhoCorasick(edgeStarts, edgeCharacters, edgeTargets, patterns);
+    }
+
+    /**
+     * Number of vertices in the trie
+     */
+    private int vertexCount() {
+        int count = 0;
+        var stack = new ArrayDeque<Vertex>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            count++;
+            for (var entry : stack.pop().getNexts()) {
+                stack.push(entry.getValue());
+            }
+        }
+        return count;
+    }
+
     /**
      * Subclass for serializing and deserializing
      */
@@ -0,0 +1,142 @@
+package com.java.trie;
+
+import java.io.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Change log records strings added to and removed from a trie since the last checkpoint.
+ * Changes are written as an append-only log that can be replayed on top of the last full snapshot,
+ * so checkpoint cost depends on the number of changes, not on the trie size.
+ * The trie should be modified only through the change log.
+ */
+public class TrieChangeLog {
+    private static final int REMOVE_RECORD = 0;
+    private static final int ADD_RECORD = 1;
+
+    private final Trie trie;
+
+    /**
+     * Changes that are not written yet.
+     * Only the last change of every string is kept, as add and remove do not depend on the previous changes.
+     */
+    private final LinkedHashMap<String, Boolean> pendingChanges = new LinkedHashMap<>();
+
+    /**
+     * Construct change log for the trie
+     * @param trie trie which changes are recorded
+     * @throws IllegalArgumentException if trie is null
+     */
+    public TrieChangeLog(Trie trie) throws IllegalArgumentException {
+        if (trie == null) {
+            throw new IllegalArgumentException("Trie should not be null.");
+        }
+        this.trie = trie;
+    }
+
+    /**
+     * Trie which changes are recorded
+     */
+    public Trie getTrie() {
+        return trie;
+    }
+
+    /**
+     * Add string to the trie and record the change
+     * @param string string to add
+     * @return true iff there had not been such string in the trie
+     * @throws IllegalArgumentException if string is null
+     */
+    public boolean add(String string) throws IllegalArgumentException {
+        if (!trie.add(string)) {
+            return false;
+        }
+        record(string, true);
+        return true;
+    }
+
+    /**
+     * Remove string from the trie and record the change
+     * @param string string to remove
+     * @return true iff such string had been in the trie
+     * @throws IllegalArgumentException if string is null
+     */
+    public boolean remove(String string) throws IllegalArgumentException {
+        if (!trie.remove(string)) {
+            return false;
+        }
+        record(string, false);
+        return true;
+    }
+
+    private void record(String string, boolean isAdded) {
+        pendingChanges.remove(string);
+        pendingChanges.put(string, isAdded);
+    }
+
+    /**
+     * Number of changes that are not written yet
+     */
+    public int pendingChangeCount() {
+        return pendingChanges.size();
+    }
+
+    /**
+     * Append pending changes to the log in format:
+     * for each change : (byte) 1 if string is added or 0 if removed, (int) string length, string chars.
+     * The stream is flushed but not closed, so the log can be appended in several checkpoints.
+     * @param out log output stream
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeChanges(OutputStream out) throws IOException {
+        var dataOut = new DataOutputStream(out);
+        for (Map.Entry<String, Boolean> change : pendingChanges.entrySet()) {
+            dataOut.writeByte(change.getValue() ? ADD_RECORD : REMOVE_RECORD);
+            dataOut.writeInt(change.getKey().length());
+            dataOut.writeChars(change.getKey());
+        }
+        dataOut.flush();
+        pendingChanges.clear();
+    }
+
+    /**
+     * Write full snapshot of the trie and forget pending changes.
+     * After that the old log is not needed and can be truncated.
+     * @param out snapshot output stream
+     * @throws IOException if an I/O error occurs
+     */
+    public void compact(OutputStream out) throws IOException {
+        trie.serialize(out);
+        pendingChanges.clear();
+    }
+
+    /**
+     * Apply changes from the log to the trie restored from the last snapshot
+     * @param trie trie to change
+     * @param in log input stream
+     * @throws IllegalArgumentException if trie is null
+     * @throws IOException if the log is broken or other I/O error occurs
+     */
+    public static void replay(Trie trie, InputStream in) throws IllegalArgumentException, IOException {
+        if (trie == null) {
+            throw new IllegalArgumentException("Trie should not be null.");
+        }
+        var dataIn = new DataInputStream(in);
+        int type;
+        while ((type = dataIn.read()) != -1) {
+            if (type != ADD_RECORD && type != REMOVE_RECORD) {
+                throw new IOException("Unknown change record.");
+            }
+            var string = new StringBuilder();
+            int length = dataIn.readInt();
+            for (int i = 0; i < length; i++) {
+                string.append(dataIn.readChar());
+            }
+            if (type == ADD_RECORD) {
+                trie.add(string.toString());
+            } else {
+                trie.remove(string.toString());
+            }
+        }
+    }
+}
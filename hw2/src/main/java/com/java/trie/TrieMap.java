@@ -0,0 +1,279 @@
+package com.java.trie;
+
+import java.util.*;
+
+/**
+ * TrieMap stores values associated with strings in a trie
+ * @param <V> the type of values
+ */
+public class TrieMap<V> {
+    /**
+     * Vertex of tree of possible suffixes of keys
+     * @param <V> the type of values
+     */
+    private static class Vertex<V> {
+        /**
+         * Possible next symbols of key
+         */
+        private final HashMap<Character, Vertex<V>> next = new HashMap<>();
+
+        /**
+         * True iff map contains a key that ends in this vertex
+         */
+        private boolean isTerminal;
+
+        /**
+         * Value associated with the key that ends in this vertex
+         */
+        private V value;
+
+        /**
+         * Number of terminal vertices in a subtree
+         */
+        private int subTrieSize;
+    }
+
+    private Vertex<V> root = new Vertex<>();
+
+    /**
+     * Associate value with the key
+     * @param key key to add
+     * @param value value to associate
+     * @return previous value associated with the key or null if there was none
+     * @throws IllegalArgumentException if key is null
+     */
+    public V put(String key, V value) throws IllegalArgumentException {
+        checkKey(key);
+        var path = new ArrayList<Vertex<V>>(key.length() + 1);
+        var currentVertex = root;
+        path.add(currentVertex);
+        for (int i = 0; i < key.length(); i++) {
+            var nextVertex = currentVertex.next.get(key.charAt(i));
+            if (nextVertex == null) {
+                nextVertex = new Vertex<>();
+                currentVertex.next.put(key.charAt(i), nextVertex);
+            }
+            currentVertex = nextVertex;
+            path.add(currentVertex);
+        }
+        var previous = currentVertex.value;
+        currentVertex.value = value;
+        if (!currentVertex.isTerminal) {
+            currentVertex.isTerminal = true;
+            for (var vertex : path) {
+                vertex.subTrieSize++;
+            }
+        }
+        return previous;
+    }
+
+    /**
+     * Get value associated with the key
+     * @param key key to find
+     * @return value or null if there is no such key
+     * @throws IllegalArgumentException if key is null
+     */
+    public V get(String key) throws IllegalArgumentException {
+        checkKey(key);
+        var vertex = find(key);
+        return vertex == null ? null : vertex.value;
+    }
+
+    /**
+     * Check if map contains the key
+     * @param key key to find
+     * @return true iff there is such key
+     * @throws IllegalArgumentException if key is null
+     */
+    public boolean containsKey(String key) throws IllegalArgumentException {
+        checkKey(key);
+        var vertex = find(key);
+        return vertex != null && vertex.isTerminal;
+    }
+
+    /**
+     * Remove key and associated value
+     * @param key key to remove
+     * @return removed value or null if there was no such key
+     * @throws IllegalArgumentException if key is null
+     */
+    public V remove(String key) throws IllegalArgumentException {
+        checkKey(key);
+        var path = new ArrayList<Vertex<V>>(key.length() + 1);
+        var currentVertex = root;
+        path.add(currentVertex);
+        for (int i = 0; i < key.length(); i++) {
+            currentVertex = currentVertex.next.get(key.charAt(i));
+            if (currentVertex == null) {
+                return null;
+            }
+            path.add(currentVertex);
+        }
+        if (!currentVertex.isTerminal) {
+            return null;
+        }
+        var value = currentVertex.value;
+        currentVertex.isTerminal = false;
+        currentVertex.value = null;
+        removeFromPath(key, path, 1);
+        return value;
+    }
+
+    /**
+     * Remove all the keys starting with prefix
+     * @param prefix prefix of keys to remove
+     * @return number of removed keys
+     * @throws IllegalArgumentException if prefix is null
+     */
+    public int removeAllStartsWithPrefix(String prefix) throws IllegalArgumentException {
+        checkPrefix(prefix);
+        var path = new ArrayList<Vertex<V>>(prefix.length() + 1);
+        var currentVertex = root;
+        path.add(currentVertex);
+        for (int i = 0; i < prefix.length(); i++) {
+            currentVertex = currentVertex.next.get(prefix.charAt(i));
+            if (currentVertex == null) {
+                return 0;
+            }
+            path.add(currentVertex);
+        }
+        int removed = currentVertex.subTrieSize;
+        if (prefix.isEmpty()) {
+            root = new Vertex<>();
+        } else {
+            removeFromPath(prefix, path, removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Decrease subTrieSize along the path and cut the highest vertex whose subtree becomes empty
+     * @param string string the path is made of
+     * @param path vertices from the root to the end of the string
+     * @param removed number of removed keys
+     */
+    private void removeFromPath(String string, List<Vertex<V>> path, int removed) {
+        for (int i = 0; i < path.size(); i++) {
+            var vertex = path.get(i);
+            vertex.subTrieSize -= removed;
+            if (vertex.subTrieSize == 0 && i > 0) {
+                path.get(i - 1).next.remove(string.charAt(i - 1));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Map size
+     * @return number of keys in the map
+     */
+    public int size() {
+        return root.subTrieSize;
+    }
+
+    /**
+     * How many keys in the map starts with such prefix
+     * @throws IllegalArgumentException if prefix is null
+     */
+    public int howManyStartsWithPrefix(String prefix) throws IllegalArgumentException {
+        checkPrefix(prefix);
+        var vertex = find(prefix);
+        return vertex == null ? 0 : vertex.subTrieSize;
+    }
+
+    /**
+     * Iterate over keys starting with prefix and associated values.
+     * Iterator is invalid if the map is modified.
+     * @param prefix prefix of keys
+     * @return iterator over map entries
+     * @throws IllegalArgumentException if prefix is null
+     */
+    public Iterator<Map.Entry<String, V>> prefixIterator(String prefix) throws IllegalArgumentException {
+        checkPrefix(prefix);
+        return new PrefixIterator(prefix, find(prefix));
+    }
+
+    /**
+     * Iterator walks over terminal vertices of a subtree using explicit stack
+     */
+    private class PrefixIterator implements Iterator<Map.Entry<String, V>> {
+        /**
+         * Vertices to visit and keys ending in them
+         */
+        private final ArrayDeque<Vertex<V>> vertices = new ArrayDeque<>();
+        private final ArrayDeque<String> keys = new ArrayDeque<>();
+
+        private PrefixIterator(String prefix, Vertex<V> start) {
+            if (start != null) {
+                vertices.push(start);
+                keys.push(prefix);
+                skipNonTerminal();
+            }
+        }
+
+        /**
+         * Move forward until terminal vertex is on the top of the stack
+         */
+        private void skipNonTerminal() {
+            while (!vertices.isEmpty() && !vertices.peek().isTerminal) {
+                expand();
+            }
+        }
+
+        /**
+         * Replace top vertex with its children
+         */
+        private void expand() {
+            var vertex = vertices.pop();
+            var key = keys.pop();
+            for (var entry : vertex.next.entrySet()) {
+                vertices.push(entry.getValue());
+                keys.push(key + entry.getKey());
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !vertices.isEmpty();
+        }
+
+        /**
+         * Move iterator to the next entry.
+         * @throws NoSuchElementException if hasNext() == false
+         */
+        @Override
+        public Map.Entry<String, V> next() throws NoSuchElementException {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Next element is null.");
+            }
+            var entry = new AbstractMap.SimpleImmutableEntry<>(keys.peek(), vertices.peek().value);
+            expand();
+            skipNonTerminal();
+            return entry;
+        }
+    }
+
+    /**
+     * Find vertex where the string ends
+     * @return vertex or null if there is none
+     */
+    private Vertex<V> find(String string) {
+        var currentVertex = root;
+        for (int i = 0; i < string.length() && currentVertex != null; i++) {
+            currentVertex = currentVertex.next.get(string.charAt(i));
+        }
+        return currentVertex;
+    }
+
+    private static void checkKey(String key) throws IllegalArgumentException {
+        if (key == null) {
+            throw new IllegalArgumentException("Key should not be null.");
+        }
+    }
+
+    private static void checkPrefix(String prefix) throws IllegalArgumentException {
+        if (prefix == null) {
+            throw new IllegalArgumentException("Prefix should not be null.");
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.java.trie;
+
+import java.util.Arrays;
+
+/**
+ * Shape and memory statistics of a trie.
+ * Made by Trie.statistics()
+ */
+public class TrieStatistics {
+    private final int vertexCount;
+    private final int terminalCount;
+
+    /**
+     * depthHistogram[i] is the number of vertices at depth i
+     */
+    private final int[] depthHistogram;
+
+    /**
+     * branchingHistogram[i] is the number of vertices with i children
+     */
+    private final int[] branchingHistogram;
+
+    private final long estimatedBytes;
+
+    TrieStatistics(int vertexCount, int terminalCount,
+                   int[] depthHistogram, int[] branchingHistogram, long estimatedBytes) {
+        this.vertexCount = vertexCount;
+        this.terminalCount = terminalCount;
+        this.depthHistogram = depthHistogram;
+        this.branchingHistogram = branchingHistogram;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    /**
+     * Number of vertices including the root
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Number of vertices where strings end
+     */
+    public int getTerminalCount() {
+        return terminalCount;
+    }
+
+    /**
+     * Length of the longest string path
+     */
+    public int getMaxDepth() {
+        return depthHistogram.length - 1;
+    }
+
+    /**
+     * Number of vertices at each depth, the root has depth 0
+     */
+    public int[] getDepthHistogram() {
+        return Arrays.copyOf(depthHistogram, depthHistogram.length);
+    }
+
+    /**
+     * Number of vertices with each number of children
+     */
+    public int[] getBranchingHistogram() {
+        return Arrays.copyOf(branchingHistogram, branchingHistogram.length);
+    }
+
+    /**
+     * Approximate number of bytes retained by the trie
+     * on a 64-bit JVM with compressed references
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+}
@@ -0,0 +1,274 @@
+package com.java.trie;
+
+import java.util.Arrays;
+
+/**
+ * Utf8Trie stores a dynamic set of strings as UTF-8 bytes.
+ * Supplementary characters are stored as one code point, not as a surrogate pair,
+ * and ASCII strings take one byte label per character.
+ * Vertices with many children, like the root, use a 256-way array indexed by byte,
+ * other vertices keep small sorted arrays of labels and children.
+ */
+public class Utf8Trie {
+    /**
+     * Number of children after which a vertex switches to the 256-way array
+     */
+    private static final int SPARSE_LIMIT = 16;
+    private static final int DENSE_SIZE = 256;
+
+    /**
+     * Arrays shared by all sparse vertices without children
+     */
+    private static final byte[] EMPTY_LABELS = new byte[0];
+    private static final Vertex[] EMPTY_CHILDREN = new Vertex[0];
+
+    /**
+     * Vertex of tree of possible suffixes of encoded strings
+     */
+    private static class Vertex {
+        /**
+         * Child labels sorted as signed bytes or null if vertex is dense
+         */
+        private byte[] labels;
+
+        /**
+         * Children in the same order as labels or indexed by unsigned label if vertex is dense
+         */
+        private Vertex[] children;
+
+        private int childCount;
+
+        /**
+         * True iff trie contains a string that ends in this vertex
+         */
+        private boolean isTerminal;
+
+        /**
+         * Number of terminal vertices in a subtree
+         */
+        private int subTrieSize;
+
+        /**
+         * Create empty vertex
+         * @param isDense true iff the vertex uses the 256-way array
+         */
+        private Vertex(boolean isDense) {
+            if (isDense) {
+                children = new Vertex[DENSE_SIZE];
+            } else {
+                labels = EMPTY_LABELS;
+                children = EMPTY_CHILDREN;
+            }
+        }
+
+        private Vertex getNext(byte label) {
+            if (labels == null) {
+                return children[label & 0xFF];
+            }
+            int index = Arrays.binarySearch(labels, 0, childCount, label);
+            return index < 0 ? null : children[index];
+        }
+
+        private void setNext(byte label, Vertex vertex) {
+            childCount++;
+            if (labels == null) {
+                children[label & 0xFF] = vertex;
+                return;
+            }
+            if (childCount > SPARSE_LIMIT) {
+                var dense = new Vertex[DENSE_SIZE];
+                for (int i = 0; i < childCount - 1; i++) {
+                    dense[labels[i] & 0xFF] = children[i];
+                }
+                dense[label & 0xFF] = vertex;
+                labels = null;
+                children = dense;
+                return;
+            }
+            int index = -Arrays.binarySearch(labels, 0, childCount - 1, label) - 1;
+            if (childCount > labels.length) {
+                int capacity = Math.min(SPARSE_LIMIT, Math.max(2, labels.length * 2));
+                var newLabels = new byte[capacity];
+                var newChildren = new Vertex[capacity];
+                System.arraycopy(labels, 0, newLabels, 0, childCount - 1);
+                System.arraycopy(children, 0, newChildren, 0, childCount - 1);
+                labels = newLabels;
+                children = newChildren;
+            }
+            System.arraycopy(labels, index, labels, index + 1, childCount - 1 - index);
+            System.arraycopy(children, index, children, index + 1, childCount - 1 - index);
+            labels[index] = label;
+            children[index] = vertex;
+        }
+
+        private void deleteNext(byte label) {
+            childCount--;
+            if (labels == null) {
+                children[label & 0xFF] = null;
+                return;
+            }
+            int index = Arrays.binarySearch(labels, 0, childCount + 1, label);
+            System.arraycopy(labels, index + 1, labels, index, childCount - index);
+            System.arraycopy(children, index + 1, children, index, childCount - index);
+            children[childCount] = null;
+        }
+    }
+
+    private Vertex root = new Vertex(true);
+
+    /**
+     * Add new string
+     * @param string string to add
+     * @return true iff there had not been such string in a trie
+     * @throws IllegalArgumentException if string is null
+     */
+    public boolean add(String string) throws IllegalArgumentException {
+        checkString(string);
+        var bytes = encode(string);
+        var path = new Vertex[bytes.length + 1];
+        var currentVertex = root;
+        path[0] = currentVertex;
+        for (int i = 0; i < bytes.length; i++) {
+            var nextVertex = currentVertex.getNext(bytes[i]);
+            if (nextVertex == null) {
+                nextVertex = new Vertex(false);
+                currentVertex.setNext(bytes[i], nextVertex);
+            }
+            currentVertex = nextVertex;
+            path[i + 1] = currentVertex;
+        }
+        if (currentVertex.isTerminal) {
+            return false;
+        }
+        currentVertex.isTerminal = true;
+        for (var vertex : path) {
+            vertex.subTrieSize++;
+        }
+        return true;
+    }
+
+    /**
+     * Check if trie contains the string
+     * @param string string to find
+     * @return true iff trie contains the string
+     * @throws IllegalArgumentException if string is null
+     */
+    public boolean contains(String string) throws IllegalArgumentException {
+        checkString(string);
+        var vertex = find(encode(string));
+        return vertex != null && vertex.isTerminal;
+    }
+
+    /**
+     * Trie size
+     * @return number of string in the trie
+     */
+    public int size() {
+        return root.subTrieSize;
+    }
+
+    /**
+     * Remove string from the trie
+     * @param string string to delete
+     * @return true iff such string had been in the trie
+     * @throws IllegalArgumentException if string is null
+     */
+    public boolean remove(String string) throws IllegalArgumentException {
+        checkString(string);
+        var bytes = encode(string);
+        var path = new Vertex[bytes.length + 1];
+        var currentVertex = root;
+        path[0] = currentVertex;
+        for (int i = 0; i < bytes.length; i++) {
+            currentVertex = currentVertex.getNext(bytes[i]);
+            if (currentVertex == null) {
+                return false;
+            }
+            path[i + 1] = currentVertex;
+        }
+        if (!currentVertex.isTerminal) {
+            return false;
+        }
+        currentVertex.isTerminal = false;
+        for (int i = 0; i < path.length; i++) {
+            path[i].subTrieSize--;
+            if (path[i].subTrieSize == 0 && i > 0) {
+                path[i - 1].deleteNext(bytes[i - 1]);
+                break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * How many strings in the trie starts with such prefix.
+     * Prefix is counted in code points, so a prefix ending with a half of a surrogate pair
+     * matches only strings that contain such unpaired surrogate.
+     * @throws IllegalArgumentException if prefix is null
+     */
+    public int howManyStartsWithPrefix(String prefix) throws IllegalArgumentException {
+        if (prefix == null) {
+            throw new IllegalArgumentException("Prefix should not be null.");
+        }
+        var vertex = find(encode(prefix));
+        return vertex == null ? 0 : vertex.subTrieSize;
+    }
+
+    private Vertex find(byte[] bytes) {
+        var currentVertex = root;
+        for (int i = 0; i < bytes.length && currentVertex != null; i++) {
+            currentVertex = currentVertex.getNext(bytes[i]);
+        }
+        return currentVertex;
+    }
+
+    private static void checkString(String string) throws IllegalArgumentException {
+        if (string == null) {
+            throw new IllegalArgumentException("String should not be null.");
+        }
+    }
+
+    /**
+     * Encode string to UTF-8 code point by code point.
+     * Unpaired surrogates are encoded as three bytes like other characters of the basic plane,
+     * so different strings always have different encodings.
+     */
+    private static byte[] encode(String string) {
+        int length = 0;
+        for (int i = 0; i < string.length(); ) {
+            int codePoint = string.codePointAt(i);
+            length += codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            i += Character.charCount(codePoint);
+        }
+        if (length == string.length()) {
+            var bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = (byte) string.charAt(i);
+            }
+            return bytes;
+        }
+
+        var bytes = new byte[length];
+        int position = 0;
+        for (int i = 0; i < string.length(); ) {
+            int codePoint = string.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (codePoint < 0x80) {
+                bytes[position++] = (byte) codePoint;
+            } else if (codePoint < 0x800) {
+                bytes[position++] = (byte) (0xC0 | (codePoint >> 6));
+                bytes[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (codePoint < 0x10000) {
+                bytes[position++] = (byte) (0xE0 | (codePoint >> 12));
+                bytes[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                bytes[position++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            }
+        }
+        return bytes;
+    }
+}
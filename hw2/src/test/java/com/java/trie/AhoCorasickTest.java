@@ -0,0 +1,79 @@
+package com.java.trie;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AhoCorasickTest {
+    private Trie trie;
+    private List<String> matches;
+
+    @BeforeEach
+    void init() {
+        trie = new Trie();
+        matches = new ArrayList<>();
+    }
+
+    private void onMatch(long end, String pattern) {
+        matches.add(end + ":" + pattern);
+    }
+
+    @Test
+    void scanNull() {
+        var automaton = trie.toAhoCorasick();
+        assertThrows(IllegalArgumentException.class,
+                () -> automaton.scan((CharSequence) null, this::onMatch),
+                "Text and listener should not be null.");
+        assertThrows(IllegalArgumentException.class,
+                () -> automaton.scan(new StringReader(""), null),
+                "Reader and listener should not be null.");
+    }
+
+    @Test
+    void scanEmptyTrie() {
+        trie.add("");
+        trie.toAhoCorasick().scan("text", this::onMatch);
+        assertTrue(matches.isEmpty());
+    }
+
+    @Test
+    void scanOverlappingPatterns() {
+        trie.add("he");
+        trie.add("she");
+        trie.add("his");
+        trie.add("hers");
+        trie.toAhoCorasick().scan(CharBuffer.wrap("ushers"), this::onMatch);
+        assertEquals(List.of("4:she", "4:he", "6:hers"), matches);
+    }
+
+    @Test
+    void scanRepeatedPattern() {
+        trie.add("a");
+        trie.add("aa");
+        trie.toAhoCorasick().scan("aaa", this::onMatch);
+        assertEquals(List.of("1:a", "2:aa", "2:a", "3:aa", "3:a"), matches);
+    }
+
+    @Test
+    void scanReader() throws IOException {
+        trie.add("error");
+        trie.add("warn");
+        var text = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            text.append(i % 3 == 0 ? "error " : "info ");
+        }
+        var automaton = trie.toAhoCorasick();
+        automaton.scan(new StringReader(text.toString()), this::onMatch);
+        var readerMatches = new ArrayList<>(matches);
+        matches.clear();
+        automaton.scan(text, this::onMatch);
+        assertEquals(3334, readerMatches.size());
+        assertEquals(matches, readerMatches);
+    }
+}
@@ -0,0 +1,91 @@
+package com.java.trie;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DawgTest {
+    private Trie trie;
+
+    @BeforeEach
+    void init() {
+        trie = new Trie();
+    }
+
+    @Test
+    void freezeEmpty() {
+        var dawg = trie.freeze();
+        assertEquals(0, dawg.size());
+        assertFalse(dawg.contains(""));
+        assertEquals(0, dawg.howManyStartsWithPrefix(""));
+    }
+
+    @Test
+    void containsNullString() {
+        var dawg = trie.freeze();
+        assertThrows(IllegalArgumentException.class,
+                () -> dawg.contains(null),
+                "String should not be null.");
+        assertThrows(IllegalArgumentException.class,
+                () -> dawg.howManyStartsWithPrefix(null),
+                "Prefix should not be null.");
+    }
+
+    @Test
+    void freezeContainsSameStrings() {
+        trie.add("");
+        trie.add("one");
+        trie.add("two");
+        trie.add("twotwo");
+        trie.add("three");
+        var dawg = trie.freeze();
+        assertEquals(5, dawg.size());
+        assertTrue(dawg.contains(""));
+        assertTrue(dawg.contains("one"));
+        assertTrue(dawg.contains("two"));
+        assertTrue(dawg.contains("twotwo"));
+        assertTrue(dawg.contains("three"));
+        assertFalse(dawg.contains("tw"));
+        assertFalse(dawg.contains("twot"));
+        assertFalse(dawg.contains("four"));
+    }
+
+    @Test
+    void freezeHowManyStartsWithPrefix() {
+        trie.add("one");
+        trie.add("two");
+        trie.add("twotwo");
+        trie.add("three");
+        var dawg = trie.freeze();
+        assertEquals(4, dawg.howManyStartsWithPrefix(""));
+        assertEquals(3, dawg.howManyStartsWithPrefix("t"));
+        assertEquals(2, dawg.howManyStartsWithPrefix("two"));
+        assertEquals(1, dawg.howManyStartsWithPrefix("twot"));
+        assertEquals(0, dawg.howManyStartsWithPrefix("four"));
+    }
+
+    @Test
+    void freezeSharesSuffixes() {
+        trie.add("walking");
+        trie.add("talking");
+        trie.add("walked");
+        trie.add("talked");
+        var dawg = trie.freeze();
+        assertEquals(4, dawg.size());
+        assertTrue(dawg.contains("talked"));
+        assertFalse(dawg.contains("walk"));
+        assertEquals(2, dawg.howManyStartsWithPrefix("walk"));
+        assertEquals(9, dawg.stateCount());
+    }
+
+    @Test
+    void freezeIsNotChangedByTrie() {
+        trie.add("one");
+        var dawg = trie.freeze();
+        trie.add("two");
+        trie.remove("one");
+        assertEquals(1, dawg.size());
+        assertTrue(dawg.contains("one"));
+        assertFalse(dawg.contains("two"));
+    }
+}
@@ -0,0 +1,98 @@
+package com.java.trie;
+
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrieChangeLogTest {
+    private TrieChangeLog changeLog;
+
+    @BeforeEach
+    void init() {
+        changeLog = new TrieChangeLog(new Trie());
+    }
+
+    private Trie restore(byte[] snapshot, byte[] log) throws IOException {
+        var trie = new Trie();
+        if (snapshot != null) {
+            trie.deserialize(new ByteArrayInputStream(snapshot));
+        }
+        TrieChangeLog.replay(trie, new ByteArrayInputStream(log));
+        return trie;
+    }
+
+    @Test
+    void constructWithNull() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TrieChangeLog(null),
+                "Trie should not be null.");
+    }
+
+    @Test
+    void recordOnlyChanges() {
+        changeLog.add("one");
+        changeLog.add("one");
+        changeLog.remove("two");
+        assertEquals(1, changeLog.pendingChangeCount());
+        changeLog.remove("one");
+        changeLog.add("one");
+        assertEquals(1, changeLog.pendingChangeCount());
+        assertTrue(changeLog.getTrie().contains("one"));
+    }
+
+    @Test
+    void replayChanges() throws IOException {
+        var log = new ByteArrayOutputStream();
+        changeLog.add("one");
+        changeLog.add("two");
+        changeLog.add("");
+        changeLog.writeChanges(log);
+        assertEquals(0, changeLog.pendingChangeCount());
+        changeLog.remove("one");
+        changeLog.add("three");
+        changeLog.writeChanges(log);
+
+        var trie = restore(null, log.toByteArray());
+        assertEquals(3, trie.size());
+        assertFalse(trie.contains("one"));
+        assertTrue(trie.contains("two"));
+        assertTrue(trie.contains("three"));
+        assertTrue(trie.contains(""));
+    }
+
+    @Test
+    void replayAfterCompaction() throws IOException {
+        changeLog.add("one");
+        changeLog.add("two");
+        var snapshot = new ByteArrayOutputStream();
+        changeLog.compact(snapshot);
+        assertEquals(0, changeLog.pendingChangeCount());
+
+        var log = new ByteArrayOutputStream();
+        changeLog.remove("two");
+        changeLog.add("three");
+        changeLog.writeChanges(log);
+
+        var trie = restore(snapshot.toByteArray(), log.toByteArray());
+        assertEquals(2, trie.size());
+        assertTrue(trie.contains("one"));
+        assertFalse(trie.contains("two"));
+        assertTrue(trie.contains("three"));
+        assertEquals(1, trie.howManyStartsWithPrefix("t"));
+    }
+
+    @Test
+    void replayBrokenLog() throws IOException {
+        var log = new ByteArrayOutputStream();
+        changeLog.add("one");
+        changeLog.writeChanges(log);
+        var bytes = log.toByteArray();
+        var broken = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 0, broken, 0, broken.length);
+        assertThrows(EOFException.class, () -> restore(null, broken));
+        bytes[0] = 7;
+        assertThrows(IOException.class, () -> restore(null, bytes));
+    }
+}
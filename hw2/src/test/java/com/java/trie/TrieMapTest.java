@@ -0,0 +1,114 @@
+package com.java.trie;
+
+import org.junit.jupiter.api.*;
+
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrieMapTest {
+    private TrieMap<Integer> map;
+
+    @BeforeEach
+    void init() {
+        map = new TrieMap<>();
+    }
+
+    @Test
+    void putNullKey() {
+        assertThrows(IllegalArgumentException.class,
+                () -> map.put(null, 1),
+                "Key should not be null.");
+    }
+
+    @Test
+    void putAndGet() {
+        assertNull(map.put("one", 1));
+        assertNull(map.put("", 0));
+        assertNull(map.put("on", 2));
+        assertEquals(1, map.get("one"));
+        assertEquals(0, map.get(""));
+        assertEquals(2, map.get("on"));
+        assertNull(map.get("o"));
+        assertNull(map.get("four"));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void putReplacesValue() {
+        map.put("one", 1);
+        assertEquals(1, map.put("one", 11));
+        assertEquals(11, map.get("one"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void containsKeyWithNullValue() {
+        map.put("one", null);
+        assertTrue(map.containsKey("one"));
+        assertFalse(map.containsKey("on"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void removeKey() {
+        map.put("one", 1);
+        map.put("on", 2);
+        map.put("two", 3);
+        assertEquals(2, map.remove("on"));
+        assertNull(map.remove("on"));
+        assertNull(map.remove("t"));
+        assertEquals(2, map.size());
+        assertEquals(1, map.get("one"));
+        assertEquals(1, map.howManyStartsWithPrefix("o"));
+        assertEquals(1, map.remove("one"));
+        assertEquals(0, map.howManyStartsWithPrefix("o"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void howManyStartsWithPrefix() {
+        map.put("one", 1);
+        map.put("two", 2);
+        map.put("twotwo", 3);
+        map.put("three", 4);
+        assertEquals(4, map.howManyStartsWithPrefix(""));
+        assertEquals(3, map.howManyStartsWithPrefix("t"));
+        assertEquals(2, map.howManyStartsWithPrefix("two"));
+        assertEquals(0, map.howManyStartsWithPrefix("four"));
+    }
+
+    @Test
+    void prefixIterator() {
+        map.put("one", 1);
+        map.put("two", 2);
+        map.put("twotwo", 3);
+        map.put("three", 4);
+        var entries = new HashMap<String, Integer>();
+        var iterator = map.prefixIterator("tw");
+        while (iterator.hasNext()) {
+            var entry = iterator.next();
+            entries.put(entry.getKey(), entry.getValue());
+        }
+        assertEquals(2, entries.size());
+        assertEquals(2, entries.get("two"));
+        assertEquals(3, entries.get("twotwo"));
+        assertFalse(map.prefixIterator("four").hasNext());
+    }
+
+    @Test
+    void removeAllStartsWithPrefix() {
+        map.put("one", 1);
+        map.put("two", 2);
+        map.put("twotwo", 3);
+        map.put("three", 4);
+        assertEquals(2, map.removeAllStartsWithPrefix("tw"));
+        assertEquals(0, map.removeAllStartsWithPrefix("tw"));
+        assertEquals(2, map.size());
+        assertFalse(map.containsKey("two"));
+        assertTrue(map.containsKey("three"));
+        assertEquals(1, map.howManyStartsWithPrefix("t"));
+        assertEquals(2, map.removeAllStartsWithPrefix(""));
+        assertEquals(0, map.size());
+    }
+}
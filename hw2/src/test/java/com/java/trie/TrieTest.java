@@ -3,6 +3,12 @@ package com.java.trie;
 import org.junit.jupiter.api.*;
 
 import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -302,4 +308,126 @@ class TrieTest {
         }
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void fromSortedStrings() {
+        trie = Trie.fromSorted(Arrays.asList("", "one", "one", "three", "two", "twotwo"));
+        assertEquals(5, trie.size());
+        assertTrue(trie.contains(""));
+        assertTrue(trie.contains("one"));
+        assertTrue(trie.contains("twotwo"));
+        assertFalse(trie.contains("tw"));
+        assertEquals(5, trie.howManyStartsWithPrefix(""));
+        assertEquals(3, trie.howManyStartsWithPrefix("t"));
+        assertEquals(2, trie.howManyStartsWithPrefix("two"));
+    }
+
+    @Test
+    void fromSortedThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Trie.fromSorted(Arrays.asList("two", "one")),
+                "Strings should be sorted.");
+        assertThrows(IllegalArgumentException.class,
+                () -> Trie.fromSorted(Arrays.asList("one", null)),
+                "String should not be null.");
+    }
+
+    @Test
+    void fromSortedParallel() {
+        List<String> strings = new ArrayList<>();
+        for (char first = 'a'; first <= 'z'; first++) {
+            for (int i = 0; i < 100; i++) {
+                strings.add(first + Integer.toString(i));
+            }
+        }
+        strings.sort(String::compareTo);
+        var pool = new ForkJoinPool(4);
+        trie = Trie.fromSorted(strings, pool);
+        pool.shutdown();
+        assertEquals(strings.size(), trie.size());
+        for (String string : strings) {
+            assertTrue(trie.contains(string));
+        }
+        assertEquals(100, trie.howManyStartsWithPrefix("k"));
+        assertEquals(11, trie.howManyStartsWithPrefix("k1"));
+        trie.remove("k1");
+        assertEquals(10, trie.howManyStartsWithPrefix("k1"));
+    }
+
+    @Test
+    void fromSortedParallelThrowException() {
+        var pool = new ForkJoinPool(2);
+        assertThrows(IllegalArgumentException.class,
+                () -> Trie.fromSorted(Arrays.asList("b", "a"), pool),
+                "Strings should be sorted.");
+        assertThrows(IllegalArgumentException.class,
+                () -> Trie.fromSorted(Arrays.asList("ab", "aa"), pool),
+                "Strings should be sorted.");
+        pool.shutdown();
+    }
+
+    @Test
+    void fuzzySearchThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> trie.fuzzySearch(null, 1),
+                "Query should not be null.");
+        assertThrows(IllegalArgumentException.class,
+                () -> trie.fuzzySearch("one", -1),
+                "Distance should not be negative.");
+    }
+
+    @Test
+    void fuzzySearchExactMatch() {
+        trie.add("one");
+        trie.add("two");
+        var iterator = trie.fuzzySearch("one", 0);
+        assertTrue(iterator.hasNext());
+        assertEquals("one", iterator.next());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void fuzzySearchWithinDistance() {
+        trie.add("");
+        trie.add("on");
+        trie.add("one");
+        trie.add("none");
+        trie.add("bone");
+        trie.add("tone");
+        trie.add("three");
+        trie.add("ozone");
+        Set<String> found = new HashSet<>();
+        trie.fuzzySearch("one", 1).forEachRemaining(found::add);
+        assertEquals(Set.of("on", "one", "none", "bone", "tone"), found);
+        found.clear();
+        trie.fuzzySearch("", 2).forEachRemaining(found::add);
+        assertEquals(Set.of("", "on"), found);
+    }
+
+    @Test
+    void statisticsEmpty() {
+        var statistics = trie.statistics();
+        assertEquals(1, statistics.getVertexCount());
+        assertEquals(0, statistics.getTerminalCount());
+        assertEquals(0, statistics.getMaxDepth());
+        assertArrayEquals(new int[] {1}, statistics.getBranchingHistogram());
+        assertTrue(statistics.getEstimatedBytes() > 0);
+    }
+
+    @Test
+    void statisticsShape() {
+        trie.add("");
+        trie.add("one");
+        trie.add("on");
+        trie.add("two");
+        var statistics = trie.statistics();
+        assertEquals(7, statistics.getVertexCount());
+        assertEquals(4, statistics.getTerminalCount());
+        assertEquals(3, statistics.getMaxDepth());
+        assertArrayEquals(new int[] {1, 2, 2, 2}, statistics.getDepthHistogram());
+        assertArrayEquals(new int[] {2, 4, 1}, statistics.getBranchingHistogram());
+        var smaller = new Trie();
+        smaller.add("one");
+        assertTrue(statistics.getEstimatedBytes() > smaller.statistics().getEstimatedBytes());
+    }
+}
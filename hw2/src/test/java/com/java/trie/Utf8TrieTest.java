@@ -0,0 +1,80 @@
+package com.java.trie;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Utf8TrieTest {
+    private Utf8Trie trie;
+
+    @BeforeEach
+    void init() {
+        trie = new Utf8Trie();
+    }
+
+    @Test
+    void addNullString() {
+        assertThrows(IllegalArgumentException.class,
+                () -> trie.add(null),
+                "String should not be null.");
+    }
+
+    @Test
+    void addAndContains() {
+        assertTrue(trie.add("one"));
+        assertFalse(trie.add("one"));
+        assertTrue(trie.add(""));
+        assertTrue(trie.contains("one"));
+        assertTrue(trie.contains(""));
+        assertFalse(trie.contains("on"));
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    void addNonAsciiStrings() {
+        trie.add("\u043F\u0440\u0438\u0432\u0435\u0442");
+        trie.add("\u043F\u0440\u0438");
+        trie.add("\uD83D\uDE00");
+        trie.add("\uD83D");
+        assertEquals(4, trie.size());
+        assertTrue(trie.contains("\u043F\u0440\u0438\u0432\u0435\u0442"));
+        assertTrue(trie.contains("\uD83D\uDE00"));
+        assertTrue(trie.contains("\uD83D"));
+        assertFalse(trie.contains("\uDE00"));
+        assertEquals(2, trie.howManyStartsWithPrefix("\u043F\u0440"));
+        assertEquals(1, trie.howManyStartsWithPrefix("\uD83D"));
+    }
+
+    @Test
+    void removeStrings() {
+        trie.add("one");
+        trie.add("on");
+        trie.add("two");
+        assertFalse(trie.remove("o"));
+        assertTrue(trie.remove("on"));
+        assertFalse(trie.remove("on"));
+        assertEquals(2, trie.size());
+        assertTrue(trie.contains("one"));
+        assertTrue(trie.remove("one"));
+        assertEquals(0, trie.howManyStartsWithPrefix("o"));
+        assertEquals(1, trie.howManyStartsWithPrefix(""));
+    }
+
+    @Test
+    void manyChildren() {
+        for (char first = 'a'; first <= 'z'; first++) {
+            for (char second = 'a'; second <= 'z'; second++) {
+                trie.add("x" + first + second);
+            }
+        }
+        assertEquals(26 * 26, trie.size());
+        assertEquals(26, trie.howManyStartsWithPrefix("xq"));
+        assertTrue(trie.contains("xqz"));
+        for (char second = 'a'; second <= 'z'; second += 2) {
+            assertTrue(trie.remove("xq" + second));
+        }
+        assertEquals(13, trie.howManyStartsWithPrefix("xq"));
+        assertFalse(trie.contains("xqa"));
+        assertTrue(trie.contains("xqb"));
+    }
+}
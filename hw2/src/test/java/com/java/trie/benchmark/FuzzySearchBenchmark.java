@@ -0,0 +1,117 @@
+package com.java.trie.benchmark;
+
+import com.java.trie.Trie;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Application comparing Trie.fuzzySearch with computing the edit distance to every word.
+ * Words are random lowercase strings, queries are mutated dictionary words,
+ * so every query has close matches.
+ */
+public class FuzzySearchBenchmark {
+    private static final int DEFAULT_WORDS = 100_000;
+    private static final int QUERIES = 200;
+    private static final int ROUNDS = 3;
+
+    /**
+     * Main function.
+     * @param args args[0] can contain the number of words, one hundred thousand by default
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_WORDS;
+        var random = new Random(1);
+        var words = new ArrayList<String>();
+        var trie = new Trie();
+        while (trie.size() < count) {
+            var word = randomWord(random, 4 + random.nextInt(7));
+            if (trie.add(word)) {
+                words.add(word);
+            }
+        }
+        var queries = new ArrayList<String>();
+        for (int i = 0; i < QUERIES; i++) {
+            var word = new StringBuilder(words.get(random.nextInt(words.size())));
+            word.setCharAt(random.nextInt(word.length()), (char) ('a' + random.nextInt(26)));
+            queries.add(word.toString());
+        }
+
+        System.out.printf("Words: %d, queries: %d%n", count, QUERIES);
+        System.out.printf("%-9s %10s %12s %12s%n", "distance", "matches", "trie ms", "brute ms");
+        for (int distance = 0; distance <= 3; distance++) {
+            long trieTime = Long.MAX_VALUE;
+            long bruteTime = Long.MAX_VALUE;
+            long trieMatches = 0;
+            long bruteMatches = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                trieMatches = trieSearch(trie, queries, distance);
+                trieTime = Math.min(trieTime, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                bruteMatches = bruteSearch(words, queries, distance);
+                bruteTime = Math.min(bruteTime, System.nanoTime() - start);
+            }
+            if (trieMatches != bruteMatches) {
+                throw new IllegalStateException("Trie found " + trieMatches + " matches, brute force " + bruteMatches);
+            }
+            System.out.printf("%-9d %10d %12.1f %12.1f%n", distance, trieMatches, trieTime / 1e6, bruteTime / 1e6);
+        }
+    }
+
+    private static String randomWord(Random random, int length) {
+        var word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+
+    private static long trieSearch(Trie trie, List<String> queries, int distance) {
+        long matches = 0;
+        for (var query : queries) {
+            var iterator = trie.fuzzySearch(query, distance);
+            while (iterator.hasNext()) {
+                iterator.next();
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private static long bruteSearch(List<String> words, List<String> queries, int distance) {
+        long matches = 0;
+        for (var query : queries) {
+            for (var word : words) {
+                if (editDistance(query, word) <= distance) {
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Levenshtein distance computed with two rows of the distance matrix.
+     */
+    private static int editDistance(String first, String second) {
+        var previous = new int[second.length() + 1];
+        var current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= second.length(); j++) {
+                int replace = previous[j - 1] + (first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(replace, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            var tmp = previous;
+            previous = current;
+            current = tmp;
+        }
+        return previous[second.length()];
+    }
+}
@@ -0,0 +1,102 @@
+package com.java.trie.benchmark;
+
+import com.java.trie.Trie;
+import com.java.trie.Utf8Trie;
+
+import java.lang.ref.Reference;
+import java.util.Random;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+
+/**
+ * Application comparing memory and speed of Utf8Trie and Trie.
+ * Half of the words are ASCII, the other half are Cyrillic,
+ * so both one-byte and two-byte encodings are measured.
+ * Retained memory is measured as the heap growth after garbage collection.
+ */
+public class Utf8TrieBenchmark {
+    private static final int DEFAULT_WORDS = 200_000;
+    private static final int ROUNDS = 5;
+
+    /**
+     * Number of found words, printed so lookups are not eliminated.
+     */
+    private static long checksum = 0;
+
+    /**
+     * Main function.
+     * @param args args[0] can contain the number of words, two hundred thousand by default
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_WORDS;
+        var random = new Random(1);
+        var words = new String[count];
+        for (int i = 0; i < count; i++) {
+            words[i] = randomWord(random, i % 2 == 0 ? 'a' : '\u0430', 3 + random.nextInt(8));
+        }
+
+        System.out.printf("Words: %d%n", count);
+        System.out.printf("%-10s %14s %12s %12s%n", "trie", "retained B", "add ms", "contains ms");
+        measure("Utf8Trie", words, Utf8Trie::new, Utf8Trie::add, Utf8Trie::contains);
+        measure("Trie", words, Trie::new, Trie::add, Trie::contains);
+        System.out.println("checksum " + checksum);
+    }
+
+    private static String randomWord(Random random, char alphabetStart, int length) {
+        var word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            word.append((char) (alphabetStart + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+
+    /**
+     * Print memory per word and the best time of several rounds of adding and looking up all the words.
+     */
+    private static <T> void measure(String name, String[] words, Supplier<T> factory,
+                                    BiPredicate<T, String> add, BiPredicate<T, String> contains) {
+        long usedBefore = usedMemory();
+        var trie = build(factory, add, words);
+        long retained = usedMemory() - usedBefore;
+        Reference.reachabilityFence(trie);
+
+        long addTime = Long.MAX_VALUE;
+        long containsTime = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            trie = build(factory, add, words);
+            addTime = Math.min(addTime, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (var word : words) {
+                if (contains.test(trie, word)) {
+                    checksum++;
+                }
+            }
+            containsTime = Math.min(containsTime, System.nanoTime() - start);
+        }
+        System.out.printf("%-10s %14.1f %12.1f %12.1f%n", name,
+                (double) retained / words.length, addTime / 1e6, containsTime / 1e6);
+    }
+
+    private static <T> T build(Supplier<T> factory, BiPredicate<T, String> add, String[] words) {
+        var trie = factory.get();
+        for (var word : words) {
+            add.test(trie, word);
+        }
+        return trie;
+    }
+
+    /**
+     * Heap usage after garbage collection.
+     */
+    private static long usedMemory() {
+        var runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+}
@@ -0,0 +1,690 @@
+package com.hse.java.treeSet;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Realisation of set using B+ tree.
+ * Elements are stored in wide sorted arrays, so a search touches a few nodes,
+ * and leaves are linked in order to iterate without returning to the root.
+ * @param <E>  the type of elements maintained by this set
+ */
+public class BPlusTreeSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
+    /**
+     * Maximum number of keys in a node.
+     */
+    private static final int MAX_KEYS = 64;
+    /**
+     * Minimum number of keys in a node except the root.
+     */
+    private static final int MIN_KEYS = MAX_KEYS / 2;
+
+    /**
+     * Tree node. Keys are sorted and can temporarily overflow by one before split.
+     */
+    private abstract static class Node {
+        final Object[] keys = new Object[MAX_KEYS + 1];
+        /**
+         * Number of keys in the node.
+         */
+        int count;
+    }
+
+    /**
+     * Leaf node containing set elements.
+     */
+    private static class Leaf extends Node {
+        private Leaf next;
+        private Leaf previous;
+    }
+
+    /**
+     * Inner node. All the elements in children[i] are less than keys[i],
+     * and all the elements in children[i + 1] are greater or equal than keys[i].
+     */
+    private static class Inner extends Node {
+        private final Node[] children = new Node[MAX_KEYS + 2];
+    }
+
+    /**
+     * Result of node split: new right node and the key separating it from the left one.
+     */
+    private static class Split {
+        private final Object key;
+        private final Node right;
+
+        private Split(@NotNull Object key, @NotNull Node right) {
+            this.key = key;
+            this.right = right;
+        }
+    }
+
+    /**
+     * Storage for tree's root, leaves, comparator and size.
+     * Shared with descending copy.
+     * @param <E> the type of elements maintained by the tree
+     */
+    private static class TreeId<E> {
+        private Node root = new Leaf();
+        /**
+         * The leftmost leaf.
+         */
+        private Leaf head = (Leaf) root;
+        /**
+         * The rightmost leaf.
+         */
+        private Leaf tail = (Leaf) root;
+        /**
+         * The number of elements in the set.
+         */
+        private int size = 0;
+        /**
+         * Comparator for navigating in the tree and comparing elements.
+         */
+        private final Comparator<? super E> comparator;
+        /**
+         * Tree version.
+         * Equals to the number of modifications that were made with this tree.
+         * Made for iterator invalidation.
+         */
+        private int version = 0;
+
+        private TreeId(Comparator<? super E> comparator) {
+            this.comparator = comparator;
+        }
+    }
+
+    /**
+     * Contains information about root, comparator and size.
+     */
+    private TreeId<E> treeId;
+
+    /**
+     * Descending set copy.
+     * It is saved in order to have only one descending copy.
+     */
+    private BPlusTreeSet<E> descendingSet;
+    /**
+     * True iff elements are sorted in a descending order.
+     */
+    private boolean descendingOrder = false;
+
+    /**
+     * Constructs empty BPlusTreeSet. Natural comparator is used.
+     * If elements cannot be compared, ClassCastException can be thrown
+     */
+    public BPlusTreeSet() {
+        treeId = new TreeId<>(null);
+    }
+
+    /**
+     * Constructs empty BPlusTreeSet with comparator.
+     * @param comparator comparator used for comparing set elements.
+     */
+    public BPlusTreeSet(@NotNull Comparator<? super E> comparator) {
+        treeId = new TreeId<>(comparator);
+    }
+
+    /**
+     * Compare E elements using comparator if it is given.
+     * @return 0, if a == b, integer less than 0, if a < b,
+     *  integer greater than 0, if a > b
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(@NotNull Object a, @NotNull Object b) {
+        if (treeId.comparator != null) {
+            return treeId.comparator.compare((E) a, (E) b);
+        }
+        return ((Comparable<? super E>) a).compareTo((E) b);
+    }
+
+    /**
+     * Index of the first key greater or equal than element.
+     */
+    private int lowerBound(@NotNull Node node, @NotNull Object element) {
+        int low = 0;
+        int high = node.count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(node.keys[middle], element) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Index of the first key greater than element.
+     */
+    private int upperBound(@NotNull Node node, @NotNull Object element) {
+        int low = 0;
+        int high = node.count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(node.keys[middle], element) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Find the leaf where element is or should be.
+     */
+    @NotNull
+    private Leaf findLeaf(@NotNull Object element) {
+        var node = treeId.root;
+        while (node instanceof Inner) {
+            node = ((Inner) node).children[upperBound(node, element)];
+        }
+        return (Leaf) node;
+    }
+
+    /**
+     * Checks if element is included into the set.
+     * @param object object to be checked for containment in this set
+     * @throws ClassCastException if object cannot be cased to E
+     * or compared with elements correctly
+     * @return true if this set contains the specified element
+     */
+    @Override
+    public boolean contains(@NotNull Object object) throws ClassCastException {
+        var leaf = findLeaf(object);
+        int index = lowerBound(leaf, object);
+        return index < leaf.count && compare(object, leaf.keys[index]) == 0;
+    }
+
+    /**
+     * Add element to the set.
+     * @param element element to add
+     * @return true if there was no such element
+     */
+    @Override
+    public boolean add(@NotNull E element) {
+        int oldSize = treeId.size;
+        var split = insert(treeId.root, element);
+        if (split != null) {
+            var root = new Inner();
+            root.keys[0] = split.key;
+            root.children[0] = treeId.root;
+            root.children[1] = split.right;
+            root.count = 1;
+            treeId.root = root;
+        }
+        if (oldSize == treeId.size) {
+            return false;
+        }
+        treeId.version++;
+        return true;
+    }
+
+    /**
+     * Add element to the subtree.
+     * @param node root of the subtree
+     * @param element element to add
+     * @return split of the node if it overflows or null
+     */
+    @Nullable
+    private Split insert(@NotNull Node node, @NotNull E element) {
+        if (node instanceof Leaf) {
+            int index = lowerBound(node, element);
+            if (index < node.count && compare(element, node.keys[index]) == 0) {
+                return null;
+            }
+            insertAt(node.keys, index, element, node.count);
+            node.count++;
+            treeId.size++;
+            return node.count > MAX_KEYS ? splitLeaf((Leaf) node) : null;
+        }
+        var inner = (Inner) node;
+        int index = upperBound(inner, element);
+        var split = insert(inner.children[index], element);
+        if (split == null) {
+            return null;
+        }
+        insertAt(inner.keys, index, split.key, inner.count);
+        insertAt(inner.children, index + 1, split.right, inner.count + 1);
+        inner.count++;
+        return inner.count > MAX_KEYS ? splitInner(inner) : null;
+    }
+
+    @NotNull
+    private Split splitLeaf(@NotNull Leaf leaf) {
+        var right = new Leaf();
+        int leftCount = (leaf.count + 1) / 2;
+        right.count = leaf.count - leftCount;
+        System.arraycopy(leaf.keys, leftCount, right.keys, 0, right.count);
+        Arrays.fill(leaf.keys, leftCount, leaf.count, null);
+        leaf.count = leftCount;
+
+        right.next = leaf.next;
+        if (leaf.next != null) {
+            leaf.next.previous = right;
+        } else {
+            treeId.tail = right;
+        }
+        leaf.next = right;
+        right.previous = leaf;
+        return new Split(right.keys[0], right);
+    }
+
+    @NotNull
+    private Split splitInner(@NotNull Inner inner) {
+        var right = new Inner();
+        int middle = inner.count / 2;
+        var key = inner.keys[middle];
+        right.count = inner.count - middle - 1;
+        System.arraycopy(inner.keys, middle + 1, right.keys, 0, right.count);
+        System.arraycopy(inner.children, middle + 1, right.children, 0, right.count + 1);
+        Arrays.fill(inner.keys, middle, inner.count, null);
+        Arrays.fill(inner.children, middle + 1, inner.count + 1, null);
+        inner.count = middle;
+        return new Split(key, right);
+    }
+
+    /**
+     * Remove object from the set.
+     * @param object object to remove
+     * @throws ClassCastException if object cannot be casted to E
+     * @return true if there was such object
+     */
+    @Override
+    public boolean remove(@NotNull Object object) throws ClassCastException {
+        if (!delete(treeId.root, object)) {
+            return false;
+        }
+        if (treeId.root instanceof Inner && treeId.root.count == 0) {
+            treeId.root = ((Inner) treeId.root).children[0];
+        }
+        treeId.size--;
+        treeId.version++;
+        return true;
+    }
+
+    /**
+     * Remove object from the subtree.
+     * @param node root of the subtree
+     * @param object object to remove
+     * @return true if there was such object
+     */
+    private boolean delete(@NotNull Node node, @NotNull Object object) {
+        if (node instanceof Leaf) {
+            int index = lowerBound(node, object);
+            if (index == node.count || compare(object, node.keys[index]) != 0) {
+                return false;
+            }
+            removeAt(node.keys, index, node.count);
+            node.count--;
+            return true;
+        }
+        var inner = (Inner) node;
+        int index = upperBound(inner, object);
+        var child = inner.children[index];
+        if (!delete(child, object)) {
+            return false;
+        }
+        if (child.count < MIN_KEYS) {
+            rebalance(inner, index);
+        }
+        return true;
+    }
+
+    /**
+     * Fix child underflow by borrowing a key from a sibling or merging with it.
+     * @param parent parent of the child
+     * @param index index of the child
+     */
+    private void rebalance(@NotNull Inner parent, int index) {
+        if (index > 0) {
+            if (parent.children[index - 1].count > MIN_KEYS) {
+                borrowFromLeft(parent, index);
+            } else {
+                merge(parent, index - 1);
+            }
+        } else {
+            if (parent.children[index + 1].count > MIN_KEYS) {
+                borrowFromRight(parent, index);
+            } else {
+                merge(parent, index);
+            }
+        }
+    }
+
+    private void borrowFromLeft(@NotNull Inner parent, int index) {
+        var child = parent.children[index];
+        var left = parent.children[index - 1];
+        if (child instanceof Leaf) {
+            insertAt(child.keys, 0, left.keys[left.count - 1], child.count);
+            child.count++;
+            left.keys[--left.count] = null;
+            parent.keys[index - 1] = child.keys[0];
+            return;
+        }
+        var innerChild = (Inner) child;
+        var innerLeft = (Inner) left;
+        insertAt(child.keys, 0, parent.keys[index - 1], child.count);
+        insertAt(innerChild.children, 0, innerLeft.children[left.count], child.count + 1);
+        child.count++;
+        parent.keys[index - 1] = left.keys[left.count - 1];
+        left.keys[left.count - 1] = null;
+        innerLeft.children[left.count] = null;
+        left.count--;
+    }
+
+    private void borrowFromRight(@NotNull Inner parent, int index) {
+        var child = parent.children[index];
+        var right = parent.children[index + 1];
+        if (child instanceof Leaf) {
+            child.keys[child.count++] = right.keys[0];
+            removeAt(right.keys, 0, right.count);
+            right.count--;
+            parent.keys[index] = right.keys[0];
+            return;
+        }
+        var innerChild = (Inner) child;
+        var innerRight = (Inner) right;
+        child.keys[child.count] = parent.keys[index];
+        innerChild.children[child.count + 1] = innerRight.children[0];
+        child.count++;
+        parent.keys[index] = right.keys[0];
+        removeAt(right.keys, 0, right.count);
+        removeAt(innerRight.children, 0, right.count + 1);
+        right.count--;
+    }
+
+    /**
+     * Merge child with its right sibling.
+     * @param parent parent of the children
+     * @param index index of the left child
+     */
+    private void merge(@NotNull Inner parent, int index) {
+        var left = parent.children[index];
+        var right = parent.children[index + 1];
+        if (left instanceof Leaf) {
+            var leftLeaf = (Leaf) left;
+            var rightLeaf = (Leaf) right;
+            System.arraycopy(right.keys, 0, left.keys, left.count, right.count);
+            left.count += right.count;
+            leftLeaf.next = rightLeaf.next;
+            if (rightLeaf.next != null) {
+                rightLeaf.next.previous = leftLeaf;
+            } else {
+                treeId.tail = leftLeaf;
+            }
+        } else {
+            left.keys[left.count] = parent.keys[index];
+            System.arraycopy(right.keys, 0, left.keys, left.count + 1, right.count);
+            System.arraycopy(((Inner) right).children, 0,
+                    ((Inner) left).children, left.count + 1, right.count + 1);
+            left.count += right.count + 1;
+        }
+        removeAt(parent.keys, index, parent.count);
+        removeAt(parent.children, index + 1, parent.count + 1);
+        parent.count--;
+    }
+
+    /**
+     * Insert value to the array shifting elements to the right.
+     * @param length number of elements in the array
+     */
+    private static void insertAt(@NotNull Object[] array, int index, @NotNull Object value, int length) {
+        System.arraycopy(array, index, array, index + 1, length - index);
+        array[index] = value;
+    }
+
+    /**
+     * Remove value from the array shifting elements to the left.
+     * @param length number of elements in the array
+     */
+    private static void removeAt(@NotNull Object[] array, int index, int length) {
+        System.arraycopy(array, index + 1, array, index, length - index - 1);
+        array[length - 1] = null;
+    }
+
+    /**
+     * Returns an iterator over the elements in this set in descending order.
+     */
+    @Override
+    @NotNull
+    public Iterator<E> descendingIterator() {
+        return descendingSet().iterator();
+    }
+
+    /**
+     * Returns a reverse order view of the elements contained in this set.
+     */
+    @Override
+    @NotNull
+    public MyTreeSet<E> descendingSet() {
+        if (descendingSet == null) {
+            descendingSet = new BPlusTreeSet<>();
+            descendingSet.descendingSet = this;
+            descendingSet.descendingOrder = !descendingOrder;
+            descendingSet.treeId = treeId;
+        }
+        return descendingSet;
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private E firstElement() {
+        var head = treeId.head;
+        return head.count == 0 ? null : (E) head.keys[0];
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private E lastElement() {
+        var tail = treeId.tail;
+        return tail.count == 0 ? null : (E) tail.keys[tail.count - 1];
+    }
+
+    /**
+     * Element at the index in the leaf or in the neighbour leaf if index is out of the leaf.
+     * @return element or null if there is none
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private E elementAt(@NotNull Leaf leaf, int index) {
+        if (index < 0) {
+            return leaf.previous == null ? null : (E) leaf.previous.keys[leaf.previous.count - 1];
+        }
+        if (index == leaf.count) {
+            return leaf.next == null ? null : (E) leaf.next.keys[0];
+        }
+        return (E) leaf.keys[index];
+    }
+
+    /**
+     * Find the greatest element less than given one in ascending order.
+     */
+    @Nullable
+    private E lowerElement(@NotNull E e) {
+        var leaf = findLeaf(e);
+        return elementAt(leaf, lowerBound(leaf, e) - 1);
+    }
+
+    /**
+     * Find the greatest element less or equal than given one in ascending order.
+     */
+    @Nullable
+    private E floorElement(@NotNull E e) {
+        var leaf = findLeaf(e);
+        return elementAt(leaf, upperBound(leaf, e) - 1);
+    }
+
+    /**
+     * Find the smallest element greater or equal than given one in ascending order.
+     */
+    @Nullable
+    private E ceilingElement(@NotNull E e) {
+        var leaf = findLeaf(e);
+        return elementAt(leaf, lowerBound(leaf, e));
+    }
+
+    /**
+     * Find the smallest element greater than given one in ascending order.
+     */
+    @Nullable
+    private E higherElement(@NotNull E e) {
+        var leaf = findLeaf(e);
+        return elementAt(leaf, upperBound(leaf, e));
+    }
+
+    /**
+     * Find the lowest element in the set
+     * or null if there is none.
+     */
+    @Override
+    @Nullable
+    public E first() {
+        return descendingOrder ? lastElement() : firstElement();
+    }
+
+    /**
+     * Find the highest element in the set
+     * or null if there is none.
+     */
+    @Override
+    @Nullable
+    public E last() {
+        return descendingOrder ? firstElement() : lastElement();
+    }
+
+    /**
+     * Find the greatest element less than given one.
+     * @param e element to find bound
+     * @return bound or null if none
+     */
+    @Override
+    @Nullable
+    public E lower(@NotNull E e) {
+        return descendingOrder ? higherElement(e) : lowerElement(e);
+    }
+
+    /**
+     * Find the greatest element less or equal than given one.
+     * @param e element to find bound
+     * @return bound or null if none
+     */
+    @Override
+    @Nullable
+    public E floor(@NotNull E e) {
+        return descendingOrder ? ceilingElement(e) : floorElement(e);
+    }
+
+    /**
+     * Find the smallest element greater or equal than given one.
+     * @param e element to find bound
+     * @return bound or null if none
+     */
+    @Override
+    @Nullable
+    public E ceiling(@NotNull E e) {
+        return descendingOrder ? floorElement(e) : ceilingElement(e);
+    }
+
+    /**
+     * Find the smallest element greater than given one.
+     * @param e element to find bound
+     * @return bound or null if none
+     */
+    @Override
+    @Nullable
+    public E higher(@NotNull E e) {
+        return descendingOrder ? lowerElement(e) : higherElement(e);
+    }
+
+    /**
+     * Returns an iterator over the elements in this set in ascending order.
+     */
+    @Override
+    @NotNull
+    public Iterator<E> iterator() {
+        return new LeafIterator();
+    }
+
+    /**
+     * Leaf iterator walks along linked leaves.
+     */
+    private class LeafIterator implements Iterator<E> {
+        private Leaf leaf;
+        private int index;
+        /**
+         * Tree version when the iterator was constructed.
+         * Iterator is valid iff start version equals to current tree version.
+         */
+        private final int startVersion;
+
+        /**
+         * Construct iterator. Starts from the smallest element.
+         */
+        private LeafIterator() {
+            startVersion = treeId.version;
+            if (treeId.size > 0) {
+                leaf = descendingOrder ? treeId.tail : treeId.head;
+                index = descendingOrder ? leaf.count - 1 : 0;
+            }
+        }
+
+        /**
+         * Check if iterator is valid.
+         * @throws ConcurrentModificationException if set was modified.
+         */
+        private void checkValidity() throws ConcurrentModificationException {
+            if (startVersion != treeId.version) {
+                throw new ConcurrentModificationException(
+                        "Iterator is invalid because set was modified.");
+            }
+        }
+
+        /**
+         * Checks if there is next element in the set.
+         * @throws ConcurrentModificationException if set was modified.
+         */
+        @Override
+        public boolean hasNext() throws ConcurrentModificationException {
+            checkValidity();
+            return leaf != null;
+        }
+
+        /**
+         * Move iterator to the next element.
+         * @throws ConcurrentModificationException if set was modified.
+         * @throws NoSuchElementException if hasNext() == false
+         * @return next element
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() throws ConcurrentModificationException, NoSuchElementException {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Next element is null.");
+            }
+            var next = (E) leaf.keys[index];
+            if (descendingOrder) {
+                if (--index < 0) {
+                    leaf = leaf.previous;
+                    index = leaf == null ? 0 : leaf.count - 1;
+                }
+            } else if (++index == leaf.count) {
+                leaf = leaf.next;
+                index = 0;
+            }
+            return next;
+        }
+    }
+
+    /**
+     * Returns the number of elements in this set.
+     */
+    @Override
+    public int size() {
+        return treeId.size;
+    }
+}
@@ -38,6 +38,10 @@ public class BSTSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
          * Node's height from the bottom of the tree.
          */
         private int height = 1;
+        /**
+         * The number of nodes in the subtree.
+         */
+        private int size = 1;
 
         /**
          * Constructs node with null left/right children.
@@ -49,8 +53,6 @@ public class BSTSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
             this.parent = parent;
         }
 
-        private Node() { }
-
         /**
          * Swap element fields in this and other nodes.
          * @param other other node to swap with
@@ -69,6 +71,14 @@ public class BSTSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
             return node == null ? 0 : node.height;
         }
 
+        /**
+         * Subtree size.
+         * @return the number of nodes in the subtree or 0 if node is null
+         */
+        private static int size(@Nullable Node<?> node) {
+            return node == null ? 0 : node.size;
+        }
+
         /**
          * Difference between left and right children height.
          */
@@ -83,6 +93,13 @@ public class BSTSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
             height = 1 + Math.max(height(left), height(right));
         }
 
+        /**
+         * Update node's subtree size using children's sizes.
+         */
+        private void updateSize() {
+            size = 1 + size(left) + size(right);
+        }
+
         /**
          * AVL left or right rotation.
          * @param isRight true then right rotation happens and left otherwise
@@ -96,7 +113,9 @@ public class BSTSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
             setSon(this, tmpSon, isRight);
             setSon(tmp, this, !isRight);
             updateHeight();
+            updateSize();
             tmp.updateHeight();
+            tmp.updateSize();
             return tmp;
         }
 
@@ -180,9 +199,10 @@ public class BSTSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
         @NotNull
         private Node<E> balance() {
             updateHeight();
+            updateSize();
             int balance = getLeftRightDiff();
             if (balance > 1) {
-                return left.getLeftRightDiff() > 0
+                return left.getLeftRightDiff() >= 0
                         ? rotateRight()
                         : bigRotateRight();
             }
@@ -195,17 +215,38 @@ public class BSTSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
         }
 
         /**
-         * Sequence of balancing up to the root.
+         * Sequence of balancing towards the root.
          * Needed after deletion or adding.
-         * @return the highest node after rotation(new root)
+         * Balancing stops as soon as a subtree height does not change,
+         * as the nodes above are not unbalanced then.
+         * Sizes of the nodes above this one should be already updated by the caller,
+         * usually on the descent to the changed place.
+         * @return the new root if balancing reached the root, null if the root did not change
          */
-        @NotNull
+        @Nullable
         private Node<E> cascadingBalance() {
             Node<E> tmp = this;
-            while (tmp.parent != null) {
-                tmp = tmp.balance().parent;
+            while (true) {
+                int oldHeight = tmp.height;
+                tmp = tmp.balance();
+                if (tmp.parent == null) {
+                    return tmp;
+                }
+                if (tmp.height == oldHeight) {
+                    return null;
+                }
+                tmp = tmp.parent;
+            }
+        }
+
+        /**
+         * Add delta to sizes of the node and all its ancestors.
+         * Used to undo size changes made on a descent that did not change the tree.
+         */
+        private static void addToSizes(@Nullable Node<?> node, int delta) {
+            for (; node != null; node = node.parent) {
+                node.size += delta;
             }
-            return tmp.balance();
         }
     }
 
@@ -265,6 +306,18 @@ public class BSTSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
      */
     private boolean descendingOrder = false;
 
+    /**
+     * Range of elements visible in the set in ascending order.
+     * The range is unbounded for the whole set and is set for subSet, headSet and tailSet views.
+     * fromStart is true iff there is no low bound, toEnd is true iff there is no high bound.
+     */
+    private boolean fromStart = true;
+    private E low;
+    private boolean lowInclusive;
+    private boolean toEnd = true;
+    private E high;
+    private boolean highInclusive;
+
     /**
      * Constructs empty BSTSet. Natural comparator is used.
      * If elements cannot be compared, ClassCastException can be thrown
@@ -281,6 +334,17 @@ public class BSTSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
         treeId = new TreeId<>(comparator);
     }
 
+    /**
+     * Constructs BSTSet containing elements of the collection. Natural comparator is used.
+     * If the collection is sorted, the tree is built in linear time.
+     * @param collection elements to add
+     * @throws IllegalArgumentException if collection contains null
+     */
+    public BSTSet(@NotNull Collection<? extends E> collection) throws IllegalArgumentException {
+        this();
+        addAll(collection);
+    }
+
     /**
      * Compare E elements using comparator if it is given.
      * Used for navigation in the tree.
@@ -303,6 +367,35 @@ public class BSTSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
         return descendingOrder ? compare(b, a) : compare(a, b);
     }
 
+    /**
+     * Check if element is less than the low bound of the range.
+     */
+    private boolean tooLow(@NotNull Object element) {
+        if (fromStart) {
+            return false;
+        }
+        int result = compare(element, low);
+        return result < 0 || (result == 0 && !lowInclusive);
+    }
+
+    /**
+     * Check if element is greater than the high bound of the range.
+     */
+    private boolean tooHigh(@NotNull Object element) {
+        if (toEnd) {
+            return false;
+        }
+        int result = compare(element, high);
+        return result > 0 || (result == 0 && !highInclusive);
+    }
+
+    /**
+     * Check if element is in the range of the set.
+     */
+    private boolean inRange(@NotNull Object element) {
+        return !tooLow(element) && !tooHigh(element);
+    }
+
     /**
      * Find node containing element equals to given one
      * or null if there is no such element in the set.
@@ -345,44 +438,453 @@ public class BSTSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
      */
     @Override
     public boolean contains(@NotNull Object object) throws ClassCastException {
-        if (getRoot() == null) {
+        if (getRoot() == null || !inRange(object)) {
             return false;
         }
         return find(object) != null;
     }
 
     /**
-     * Add element to the tree.
+     * Add element to the set.
+     * The place for a new node is found in one descent,
+     * the last comparison chooses the side of the parent.
+     * Sizes of the passed nodes are increased on the descent and restored if the element is found.
      * @param element element to add
-     * @return new root of the tree(could change after rotations)
+     * @throws IllegalArgumentException if element is out of the set range
+     * @return true if there was no such element
      */
-    @NotNull
-    private Node<E> addNode(@NotNull E element) {
-        var parent = findNodeOrParent(element);
+    @Override
+    public boolean add(@NotNull E element) throws IllegalArgumentException {
+        if (!inRange(element)) {
+            throw new IllegalArgumentException("Element is out of the set range.");
+        }
+        var currentNode = getRoot();
+        Node<E> parent = null;
+        int result = 0;
+        try {
+            while (currentNode != null) {
+                result = compare(element, currentNode.element);
+                if (result == 0) {
+                    Node.addToSizes(parent, -1);
+                    return false;
+                }
+                currentNode.size++;
+                parent = currentNode;
+                currentNode = result < 0 ? currentNode.left : currentNode.right;
+            }
+        } catch (RuntimeException e) {
+            Node.addToSizes(parent, -1);
+            throw e;
+        }
+        treeId.size++;
+        treeId.version++;
         var newNode = new Node<>(element, parent);
         if (parent == null) {
-            return newNode;
+            setRoot(newNode);
+            return true;
         }
-        Node.setSon(parent, newNode, compare(element, parent.element) < 0);
-        return newNode.cascadingBalance();
+        Node.setSon(parent, newNode, result < 0);
+        balanceFrom(parent);
+        return true;
     }
 
     /**
-     * Add element to the set.
-     * @param element element to add
-     * @return true if there was no such element
+     * Balance the tree from the node towards the root and set the new root if it changed.
+     */
+    private void balanceFrom(@NotNull Node<E> node) {
+        var root = node.cascadingBalance();
+        if (root != null) {
+            setRoot(root);
+        }
+    }
+
+    /**
+     * Add all the elements of the collection to the set.
+     * If elements are sorted in the set order and there are enough of them,
+     * the set elements and the collection are merged and the tree is rebuilt in linear time.
+     * @param collection elements to add
+     * @throws IllegalArgumentException if collection contains null
+     * or element is out of the set range
+     * @return true if the set changed
      */
     @Override
-    public boolean add(@NotNull E element) {
-        if (contains(element)) {
+    public boolean addAll(@NotNull Collection<? extends E> collection) throws IllegalArgumentException {
+        var elements = collection.toArray();
+        for (var element : elements) {
+            if (element == null) {
+                throw new IllegalArgumentException("Elements should not be null.");
+            }
+        }
+        if (!fromStart || !toEnd || !isSorted(elements) || isSmallBatch(elements.length)) {
+            return super.addAll(collection);
+        }
+        if (descendingOrder) {
+            Collections.reverse(Arrays.asList(elements));
+        }
+        var merged = merge(ascendingElements(), elements, true, true, true);
+        if (merged.length == treeId.size) {
             return false;
         }
-        treeId.size++;
-        treeId.version++;
-        setRoot(addNode(element));
+        setElements(merged);
         return true;
     }
 
+    /**
+     * Check if elements are sorted in the set order, equal elements are allowed.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean isSorted(@NotNull Object[] elements) {
+        for (int i = 1; i < elements.length; i++) {
+            if (compareOrder((E) elements[i - 1], (E) elements[i]) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check if adding elements one by one is cheaper than rebuilding the tree.
+     */
+    private boolean isSmallBatch(int length) {
+        int depth = 32 - Integer.numberOfLeadingZeros(treeId.size);
+        return (long) length * depth < treeId.size;
+    }
+
+    /**
+     * Collect elements of the set range in ascending order.
+     */
+    @NotNull
+    private Object[] ascendingElements() {
+        var elements = new Object[size()];
+        var node = rangeFirstNode();
+        for (int i = 0; i < elements.length; i++) {
+            //noinspection ConstantConditions
+            elements[i] = node.element; // cannot be null as there are size() elements in range
+            node = nextNode(node);
+        }
+        return elements;
+    }
+
+    /**
+     * Collect elements of other set in ascending order of this set.
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    private Object[] ascendingElementsOf(@NotNull BSTSet<E> other) {
+        var elements = other.ascendingElements();
+        if (other.treeId.comparator != treeId.comparator) {
+            Arrays.sort(elements, (a, b) -> compare(a, (E) b));
+        }
+        return elements;
+    }
+
+    /**
+     * Merge two arrays sorted in ascending order.
+     * Equal elements are taken from the first array once.
+     * @param keepOnlyFirst keep elements that are only in the first array
+     * @param keepCommon keep elements that are in both arrays
+     * @param keepOnlySecond keep elements that are only in the second array
+     * @return sorted array without repeats
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    private Object[] merge(@NotNull Object[] first, @NotNull Object[] second,
+                           boolean keepOnlyFirst, boolean keepCommon, boolean keepOnlySecond) {
+        var result = new Object[first.length + second.length];
+        int length = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length || j < second.length) {
+            int comparison = i == first.length ? 1
+                    : j == second.length ? -1
+                    : compare(first[i], (E) second[j]);
+            Object element;
+            boolean keep;
+            if (comparison < 0) {
+                element = first[i++];
+                keep = keepOnlyFirst;
+            } else if (comparison > 0) {
+                element = second[j++];
+                keep = keepOnlySecond;
+            } else {
+                element = first[i++];
+                keep = keepCommon;
+                while (j < second.length && compare(element, (E) second[j]) == 0) {
+                    j++;
+                }
+            }
+            if (keep && (length == 0 || compare(element, (E) result[length - 1]) != 0)) {
+                result[length++] = element;
+            }
+        }
+        return Arrays.copyOf(result, length);
+    }
+
+    /**
+     * Replace the tree with a perfectly balanced tree of sorted elements.
+     * @param elements elements sorted in ascending order without repeats
+     */
+    private void setElements(@NotNull Object[] elements) {
+        setRoot(build(elements, 0, elements.length, null));
+        treeId.size = elements.length;
+        treeId.version++;
+    }
+
+    /**
+     * Build balanced subtree of sorted elements.
+     * @param from index of the first element of the subtree
+     * @param to index after the last element of the subtree
+     * @param parent parent of the subtree root
+     * @return subtree root
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static <E> Node<E> build(@NotNull Object[] elements, int from, int to, @Nullable Node<E> parent) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        var node = new Node<>((E) elements[middle], parent);
+        node.left = build(elements, from, middle, node);
+        node.right = build(elements, middle + 1, to, node);
+        node.updateHeight();
+        node.updateSize();
+        return node;
+    }
+
+    /**
+     * Construct a new set with the same comparator from sorted elements.
+     */
+    @NotNull
+    private BSTSet<E> fromSorted(@NotNull Object[] elements) {
+        var result = new BSTSet<E>();
+        result.treeId = new TreeId<>(treeId.comparator);
+        result.setElements(elements);
+        return result;
+    }
+
+    /**
+     * Union of this set and other set in linear time.
+     * @param other set to unite with
+     * @return new set with the comparator of this set
+     */
+    @NotNull
+    public BSTSet<E> union(@NotNull BSTSet<E> other) {
+        return fromSorted(merge(ascendingElements(), ascendingElementsOf(other), true, true, true));
+    }
+
+    /**
+     * Intersection of this set and other set in linear time.
+     * @param other set to intersect with
+     * @return new set with the comparator of this set
+     */
+    @NotNull
+    public BSTSet<E> intersection(@NotNull BSTSet<E> other) {
+        return fromSorted(merge(ascendingElements(), ascendingElementsOf(other), false, true, false));
+    }
+
+    /**
+     * Elements of this set that are not in other set, found in linear time.
+     * @param other set to subtract
+     * @return new set with the comparator of this set
+     */
+    @NotNull
+    public BSTSet<E> difference(@NotNull BSTSet<E> other) {
+        return fromSorted(merge(ascendingElements(), ascendingElementsOf(other), true, false, false));
+    }
+
+    /**
+     * Check if the set is not a range view.
+     * @throws UnsupportedOperationException if the set is a subSet, headSet or tailSet view
+     */
+    private void checkWholeSet() throws UnsupportedOperationException {
+        if (!fromStart || !toEnd) {
+            throw new UnsupportedOperationException("Operation is not supported for range views.");
+        }
+    }
+
+    /**
+     * Replace the tree with the subtree, the size is taken from the subtree root.
+     */
+    private void setTree(@Nullable Node<E> root) {
+        if (root != null) {
+            root.parent = null;
+        }
+        setRoot(root);
+        treeId.size = Node.size(root);
+        treeId.version++;
+    }
+
+    /**
+     * Split the set in O(log n).
+     * Elements going before element in the set order stay in this set,
+     * element and elements after it are moved to the returned set.
+     * @param element element to split by, does not have to be in the set
+     * @throws UnsupportedOperationException if the set is a range view
+     * @return new set with the same comparator and order
+     */
+    @NotNull
+    public BSTSet<E> split(@NotNull E element) throws UnsupportedOperationException {
+        checkWholeSet();
+        var path = new ArrayList<Node<E>>();
+        var node = getRoot();
+        while (node != null) {
+            path.add(node);
+            node = goesLeft(element, node) ? node.left : node.right;
+        }
+        Node<E> less = null;
+        Node<E> greater = null;
+        for (int i = path.size() - 1; i >= 0; i--) {
+            node = path.get(i);
+            if (goesLeft(element, node)) {
+                greater = join(greater, node, node.right);
+            } else {
+                less = join(node.left, node, less);
+            }
+        }
+        var result = new BSTSet<E>();
+        result.treeId = new TreeId<>(treeId.comparator);
+        result.descendingOrder = descendingOrder;
+        if (descendingOrder) {
+            setTree(greater);
+            result.setTree(less);
+        } else {
+            setTree(less);
+            result.setTree(greater);
+        }
+        return result;
+    }
+
+    /**
+     * Check if node belongs to the part of greater elements in ascending order
+     * when splitting by element, so the split point is in its left subtree.
+     * Equal element goes to the part after the split point in the set order.
+     */
+    private boolean goesLeft(@NotNull E element, @NotNull Node<E> node) {
+        int result = compare(element, node.element);
+        return descendingOrder ? result < 0 : result <= 0;
+    }
+
+    /**
+     * Move all elements of other set to this set in O(log n).
+     * All elements of other set should go either before or after all elements of this set.
+     * Other set becomes empty.
+     * @param other set to join with
+     * @throws IllegalArgumentException if sets have different comparators, share the tree
+     * or ranges of the sets overlap
+     * @throws UnsupportedOperationException if one of the sets is a range view
+     */
+    public void join(@NotNull BSTSet<E> other) throws IllegalArgumentException, UnsupportedOperationException {
+        checkWholeSet();
+        other.checkWholeSet();
+        if (other.treeId == treeId) {
+            throw new IllegalArgumentException("Set cannot be joined with itself.");
+        }
+        if (other.treeId.comparator != treeId.comparator) {
+            throw new IllegalArgumentException("Sets should have the same comparator.");
+        }
+        var root = getRoot();
+        var otherRoot = other.getRoot();
+        if (otherRoot == null) {
+            return;
+        }
+        if (root == null) {
+            setTree(otherRoot);
+        } else if (compare(extremeNode(root, false).element, extremeNode(otherRoot, true).element) < 0) {
+            setTree(joinTrees(root, otherRoot));
+        } else if (compare(extremeNode(otherRoot, false).element, extremeNode(root, true).element) < 0) {
+            setTree(joinTrees(otherRoot, root));
+        } else {
+            throw new IllegalArgumentException("Ranges of sets should not overlap.");
+        }
+        other.setTree(null);
+    }
+
+    /**
+     * Find the leftmost or the rightmost node of the subtree.
+     */
+    @NotNull
+    private static <E> Node<E> extremeNode(@NotNull Node<E> node, boolean isLeft) {
+        var next = isLeft ? node.left : node.right;
+        while (next != null) {
+            node = next;
+            next = isLeft ? node.left : node.right;
+        }
+        return node;
+    }
+
+    /**
+     * Join two trees, all elements of the left tree are less than elements of the right tree.
+     * The smallest node of the right tree is cut out and becomes the middle node.
+     * @return root of the joined tree
+     */
+    @NotNull
+    private Node<E> joinTrees(@NotNull Node<E> left, @NotNull Node<E> right) {
+        var middle = right;
+        while (middle.left != null) {
+            middle.size--;
+            middle = middle.left;
+        }
+        var middleParent = middle.parent;
+        Node.changeSon(middleParent, middle, middle.right);
+        if (middleParent == null) {
+            right = middle.right;
+        } else {
+            var root = middleParent.cascadingBalance();
+            if (root != null) {
+                right = root;
+            }
+        }
+        return join(left, middle, right);
+    }
+
+    /**
+     * Join two trees with the middle node in O(|height(left) - height(right)|).
+     * Elements of the left tree are less than the middle element,
+     * elements of the right tree are greater.
+     * The middle node is hung on the spine of the higher tree and the path is balanced up.
+     * @return root of the joined tree
+     */
+    @NotNull
+    private static <E> Node<E> join(@Nullable Node<E> left, @NotNull Node<E> middle, @Nullable Node<E> right) {
+        middle.parent = null;
+        if (left != null) {
+            left.parent = null;
+        }
+        if (right != null) {
+            right.parent = null;
+        }
+        int leftHeight = Node.height(left);
+        int rightHeight = Node.height(right);
+        boolean isLeftHigher = leftHeight > rightHeight;
+        if (Math.abs(leftHeight - rightHeight) <= 1) {
+            Node.setSon(middle, left, true);
+            Node.setSon(middle, right, false);
+            middle.updateHeight();
+            middle.updateSize();
+            return middle;
+        }
+        var higher = isLeftHigher ? left : right;
+        var lower = isLeftHigher ? right : left;
+        Node<E> parent = null;
+        var node = higher;
+        while (Node.height(node) > Node.height(lower) + 1) {
+            //noinspection ConstantConditions
+            node.size += Node.size(lower) + 1; // cannot be null as its height is positive
+            parent = node;
+            //noinspection ConstantConditions
+            node = isLeftHigher ? node.right : node.left; // cannot be null as its height is positive
+        }
+        Node.setSon(middle, node, isLeftHigher);
+        Node.setSon(middle, lower, !isLeftHigher);
+        middle.updateHeight();
+        middle.updateSize();
+        Node.setSon(parent, middle, !isLeftHigher);
+        //noinspection ConstantConditions
+        var root = parent.cascadingBalance(); // cannot be null as higher tree is higher than node
+        return root == null ? higher : root;
+    }
+
     /**
      * Find next element after currentNode.
      * @param currentNode node to start from
@@ -429,41 +931,66 @@ public class BSTSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
 
     /**
      * Remove element from the set.
+     * Sizes of the node ancestors should be already decreased.
      * @param currentNode node to remove
-     * @return new root of the subtree
      */
-    @Nullable
-    private Node<E> remove(@NotNull Node<E> currentNode) {
+    private void remove(@NotNull Node<E> currentNode) {
         if (currentNode.left != null && currentNode.right != null) {
-            var next = nextNode(currentNode);
-            //noinspection ConstantConditions
-            currentNode.swapElements(next); // cannot be null as current node has right child
+            currentNode.size--;
+            var next = currentNode.right;
+            while (next.left != null) {
+                next.size--;
+                next = next.left;
+            }
+            currentNode.swapElements(next);
             currentNode = next;
         }
 
         var son = currentNode.left == null ? currentNode.right : currentNode.left;
         var currentNodeParent = currentNode.parent;
         Node.changeSon(currentNodeParent, currentNode, son);
-        return currentNodeParent == null
-                ? son
-                : currentNodeParent.cascadingBalance();
+        if (currentNodeParent == null) {
+            setRoot(son);
+        } else {
+            balanceFrom(currentNodeParent);
+        }
     }
 
     /**
      * Remove object from the set.
+     * Sizes of the passed nodes are decreased on the descent and restored if the object is not found.
      * @param object object to remove
      * @throws ClassCastException if object cannot be casted to E
      * @return true if there was such object
      */
     @Override
     public boolean remove(@NotNull Object object) throws ClassCastException {
-        var node = find(object);
+        if (!inRange(object)) {
+            return false;
+        }
+        var node = getRoot();
+        Node<E> parent = null;
+        try {
+            while (node != null) {
+                int result = compare(object, node.element);
+                if (result == 0) {
+                    break;
+                }
+                node.size--;
+                parent = node;
+                node = result < 0 ? node.left : node.right;
+            }
+        } catch (RuntimeException e) {
+            Node.addToSizes(parent, 1);
+            throw e;
+        }
         if (node == null) {
+            Node.addToSizes(parent, 1);
             return false;
         }
         treeId.size--;
         treeId.version++;
-        setRoot(remove(node));
+        remove(node);
         return true;
     }
 
@@ -487,10 +1014,138 @@ public class BSTSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
             descendingBSTSet.descendingBSTSet = this;
             descendingBSTSet.descendingOrder = !descendingOrder;
             descendingBSTSet.treeId = treeId;
+            descendingBSTSet.copyRange(this);
         }
         return descendingBSTSet;
     }
 
+    /**
+     * Copy range bounds from other set.
+     */
+    private void copyRange(@NotNull BSTSet<E> other) {
+        fromStart = other.fromStart;
+        low = other.low;
+        lowInclusive = other.lowInclusive;
+        toEnd = other.toEnd;
+        high = other.high;
+        highInclusive = other.highInclusive;
+    }
+
+    /**
+     * Returns a view of the portion of this set whose elements range from fromElement to toElement.
+     * The view is backed by this set, so changes are visible in both sets.
+     * @param fromElement low endpoint in the set order
+     * @param fromInclusive true if the low endpoint is to be included
+     * @param toElement high endpoint in the set order
+     * @param toInclusive true if the high endpoint is to be included
+     * @throws IllegalArgumentException if fromElement is greater than toElement
+     * or the range is out of the range of this set
+     */
+    @NotNull
+    public MyTreeSet<E> subSet(@NotNull E fromElement, boolean fromInclusive,
+                               @NotNull E toElement, boolean toInclusive) throws IllegalArgumentException {
+        if (compareOrder(fromElement, toElement) > 0) {
+            throw new IllegalArgumentException("fromElement should not be greater than toElement.");
+        }
+        return descendingOrder
+                ? rangeView(false, toElement, toInclusive, false, fromElement, fromInclusive)
+                : rangeView(false, fromElement, fromInclusive, false, toElement, toInclusive);
+    }
+
+    /**
+     * Returns a view of the portion of this set whose elements range
+     * from fromElement, inclusive, to toElement, exclusive.
+     * @throws IllegalArgumentException if fromElement is greater than toElement
+     * or the range is out of the range of this set
+     */
+    @NotNull
+    public MyTreeSet<E> subSet(@NotNull E fromElement, @NotNull E toElement) throws IllegalArgumentException {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    /**
+     * Returns a view of the portion of this set whose elements are less than toElement.
+     * @param toElement high endpoint in the set order
+     * @param inclusive true if the high endpoint is to be included
+     * @throws IllegalArgumentException if toElement is out of the range of this set
+     */
+    @NotNull
+    public MyTreeSet<E> headSet(@NotNull E toElement, boolean inclusive) throws IllegalArgumentException {
+        return descendingOrder
+                ? rangeView(false, toElement, inclusive, true, null, false)
+                : rangeView(true, null, false, false, toElement, inclusive);
+    }
+
+    /**
+     * Returns a view of the portion of this set whose elements are strictly less than toElement.
+     * @throws IllegalArgumentException if toElement is out of the range of this set
+     */
+    @NotNull
+    public MyTreeSet<E> headSet(@NotNull E toElement) throws IllegalArgumentException {
+        return headSet(toElement, false);
+    }
+
+    /**
+     * Returns a view of the portion of this set whose elements are greater than fromElement.
+     * @param fromElement low endpoint in the set order
+     * @param inclusive true if the low endpoint is to be included
+     * @throws IllegalArgumentException if fromElement is out of the range of this set
+     */
+    @NotNull
+    public MyTreeSet<E> tailSet(@NotNull E fromElement, boolean inclusive) throws IllegalArgumentException {
+        return descendingOrder
+                ? rangeView(true, null, false, false, fromElement, inclusive)
+                : rangeView(false, fromElement, inclusive, true, null, false);
+    }
+
+    /**
+     * Returns a view of the portion of this set whose elements are greater than or equal to fromElement.
+     * @throws IllegalArgumentException if fromElement is out of the range of this set
+     */
+    @NotNull
+    public MyTreeSet<E> tailSet(@NotNull E fromElement) throws IllegalArgumentException {
+        return tailSet(fromElement, true);
+    }
+
+    /**
+     * Construct a view sharing the tree with the range given in ascending order.
+     * Missing bounds are inherited from this set.
+     * @throws IllegalArgumentException if new bounds are out of the range of this set
+     */
+    @NotNull
+    private BSTSet<E> rangeView(boolean fromStart, E low, boolean lowInclusive,
+                                boolean toEnd, E high, boolean highInclusive) throws IllegalArgumentException {
+        if ((!fromStart && !inBounds(low, lowInclusive)) || (!toEnd && !inBounds(high, highInclusive))) {
+            throw new IllegalArgumentException("Element is out of the set range.");
+        }
+        var view = new BSTSet<E>();
+        view.treeId = treeId;
+        view.descendingOrder = descendingOrder;
+        view.copyRange(this);
+        if (!fromStart) {
+            view.fromStart = false;
+            view.low = low;
+            view.lowInclusive = lowInclusive;
+        }
+        if (!toEnd) {
+            view.toEnd = false;
+            view.high = high;
+            view.highInclusive = highInclusive;
+        }
+        return view;
+    }
+
+    /**
+     * Check if new bound does not extend the range of the set.
+     * Exclusive bound may be equal to the exclusive bound of the range.
+     */
+    private boolean inBounds(@NotNull E bound, boolean inclusive) {
+        if (inclusive) {
+            return inRange(bound);
+        }
+        return (fromStart || compare(bound, low) >= 0) && (toEnd || compare(bound, high) <= 0);
+    }
+
     /**
      * Find first/last node.
      * @param isFirst is true if first node should be found
@@ -513,22 +1168,117 @@ public class BSTSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
         return null;
     }
 
+    /**
+     * Find the node containing the smallest element greater (or equal) than given one
+     * in ascending order in the whole tree.
+     * @param inclusive true iff equal element can be found
+     */
+    @Nullable
+    private Node<E> higherNode(@NotNull E element, boolean inclusive) {
+        Node<E> bound = null;
+        var node = getRoot();
+        while (node != null) {
+            int result = compare(element, node.element);
+            if (result < 0 || (result == 0 && inclusive)) {
+                bound = node;
+                if (result == 0) {
+                    return bound;
+                }
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Find the node containing the greatest element less (or equal) than given one
+     * in ascending order in the whole tree.
+     * @param inclusive true iff equal element can be found
+     */
+    @Nullable
+    private Node<E> lowerNode(@NotNull E element, boolean inclusive) {
+        Node<E> bound = null;
+        var node = getRoot();
+        while (node != null) {
+            int result = compare(element, node.element);
+            if (result > 0 || (result == 0 && inclusive)) {
+                bound = node;
+                if (result == 0) {
+                    return bound;
+                }
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Find the node containing the smallest element in the range in ascending order.
+     */
+    @Nullable
+    private Node<E> rangeFirstNode() {
+        var node = fromStart ? limitNode(!descendingOrder) : higherNode(low, lowInclusive);
+        return node == null || tooHigh(node.element) ? null : node;
+    }
+
+    /**
+     * Find the node containing the greatest element in the range in ascending order.
+     */
+    @Nullable
+    private Node<E> rangeLastNode() {
+        var node = toEnd ? limitNode(descendingOrder) : lowerNode(high, highInclusive);
+        return node == null || tooLow(node.element) ? null : node;
+    }
+
+    /**
+     * Find the smallest element greater (or equal) than given one in the range in ascending order.
+     */
+    @Nullable
+    private E rangeHigher(@NotNull E element, boolean inclusive) {
+        if (tooLow(element)) {
+            return elementOf(rangeFirstNode());
+        }
+        var node = higherNode(element, inclusive);
+        return node == null || tooHigh(node.element) ? null : node.element;
+    }
+
+    /**
+     * Find the greatest element less (or equal) than given one in the range in ascending order.
+     */
+    @Nullable
+    private E rangeLower(@NotNull E element, boolean inclusive) {
+        if (tooHigh(element)) {
+            return elementOf(rangeLastNode());
+        }
+        var node = lowerNode(element, inclusive);
+        return node == null || tooLow(node.element) ? null : node.element;
+    }
+
+    @Nullable
+    private E elementOf(@Nullable Node<E> node) {
+        return node == null ? null : node.element;
+    }
+
     /**
      * Find the node containing the lowest element in the set
      * or null if there is none.
      */
     @Nullable
     private Node<E> firstNode() {
-        return limitNode(true);
+        return descendingOrder ? rangeLastNode() : rangeFirstNode();
     }
 
     /**
-     * Find the node containing the lowest element in the set
+     * Find the node containing the highest element in the set
      * or null if there is none.
      */
     @Nullable
     private Node<E> lastNode() {
-        return limitNode(false);
+        return descendingOrder ? rangeFirstNode() : rangeLastNode();
     }
 
     /**
@@ -538,11 +1288,7 @@ public class BSTSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
     @Override
     @Nullable
     public E first() {
-        Node<E> node = firstNode();
-        if (node == null) {
-            return null;
-        }
-        return node.element;
+        return elementOf(firstNode());
     }
 
     /**
@@ -552,58 +1298,7 @@ public class BSTSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
     @Override
     @Nullable
     public E last() {
-        Node<E> node = lastNode();
-        if (node == null) {
-            return null;
-        }
-        return node.element;
-    }
-
-    /**
-     * Type of comparator.
-     * GE (>=) greater or equal
-     * GT (>)  greater than
-     * LE (<=) less or equal
-     * LT (<)  less than
-     */
-    private enum CompareType { GE, GT, LE, LT }
-
-    /**
-     * Find a bound of element in the subtree.
-     * @param element element to analyse
-     * @param currentNode root of the subtree
-     * @param bound node to save bound
-     * @param compareType which bound to find :
-     *                    GE - smallest element greater or equal than given one
-     *                    GT - smallest element greater than given one
-     *                    LE - greatest element less or equal than given one
-     *                    LT - greatest element less than given one
-     */
-    private void boundedFind(@NotNull E element, @Nullable Node<E> currentNode,
-                             @NotNull Node<E> bound, @NotNull CompareType compareType) {
-        if (currentNode == null) {
-            return;
-        }
-        int result = compareOrder(element, currentNode.element);
-        if (result < 0) {
-            if (compareType == CompareType.GT || compareType == CompareType.GE) {
-                bound.element = currentNode.element;
-            }
-            boundedFind(element, currentNode.left, bound, compareType);
-        } else if (result > 0) {
-            if (compareType == CompareType.LT || compareType == CompareType.LE) {
-                bound.element = currentNode.element;
-            }
-            boundedFind(element, currentNode.right, bound, compareType);
-        } else {
-            if (compareType == CompareType.LT) {
-                boundedFind(element, currentNode.left, bound, compareType);
-            } else if (compareType == CompareType.GT) {
-                boundedFind(element, currentNode.right, bound, compareType);
-            } else {
-                bound.element = currentNode.element;
-            }
-        }
+        return elementOf(lastNode());
     }
 
     /**
@@ -614,9 +1309,7 @@ public class BSTSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
     @Override
     @Nullable
     public E lower(@NotNull E e) {
-        var result = new Node<E>();
-        boundedFind(e, getRoot(), result, CompareType.LT);
-        return result.element;
+        return descendingOrder ? rangeHigher(e, false) : rangeLower(e, false);
     }
 
     /**
@@ -627,9 +1320,7 @@ public class BSTSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
     @Override
     @Nullable
     public E floor(@NotNull E e) {
-        var result = new Node<E>();
-        boundedFind(e, getRoot(), result, CompareType.LE);
-        return result.element;
+        return descendingOrder ? rangeHigher(e, true) : rangeLower(e, true);
     }
 
     /**
@@ -640,9 +1331,7 @@ public class BSTSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
     @Override
     @Nullable
     public E ceiling(@NotNull E e) {
-        var result = new Node<E>();
-        boundedFind(e, getRoot(), result, CompareType.GE);
-        return result.element;
+        return descendingOrder ? rangeLower(e, true) : rangeHigher(e, true);
     }
 
     /**
@@ -653,9 +1342,91 @@ public class BSTSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
     @Override
     @Nullable
     public E higher(@NotNull E e) {
-        var result = new Node<E>();
-        boundedFind(e, getRoot(), result, CompareType.GT);
-        return result.element;
+        return descendingOrder ? rangeLower(e, false) : rangeHigher(e, false);
+    }
+
+    /**
+     * Count elements less than given one in ascending order.
+     * @param orEqual true iff elements equal to given one should be counted too
+     */
+    private int countLess(@NotNull E e, boolean orEqual) {
+        int count = 0;
+        var node = getRoot();
+        while (node != null) {
+            int result = compare(e, node.element);
+            if (result > 0 || (orEqual && result == 0)) {
+                count += Node.size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Find the number of elements less than given one,
+     * that is the index the element has or would have in the set.
+     * @param e element to find rank
+     * @return number of elements before e
+     */
+    public int rank(@NotNull E e) {
+        return descendingOrder
+                ? size() - countInRangeLess(e, true)
+                : countInRangeLess(e, false);
+    }
+
+    /**
+     * Count elements of the range less than given one in ascending order.
+     * @param orEqual true iff elements equal to given one should be counted too
+     */
+    private int countInRangeLess(@NotNull E e, boolean orEqual) {
+        return Math.max(0, Math.min(countLess(e, orEqual), countBeforeEnd()) - countBeforeStart());
+    }
+
+    /**
+     * The number of elements in the tree before the range in ascending order.
+     */
+    private int countBeforeStart() {
+        return fromStart ? 0 : countLess(low, !lowInclusive);
+    }
+
+    /**
+     * The number of elements in the tree before the end of the range in ascending order.
+     */
+    private int countBeforeEnd() {
+        return toEnd ? treeId.size : countLess(high, highInclusive);
+    }
+
+    /**
+     * Find element by its index in the set.
+     * @param index index of the element, starting from 0
+     * @throws IndexOutOfBoundsException if index is negative or not less than size
+     * @return element with the index
+     */
+    @NotNull
+    public E select(int index) throws IndexOutOfBoundsException {
+        int size = size();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index should be from 0 to size - 1.");
+        }
+        if (descendingOrder) {
+            index = size - 1 - index;
+        }
+        index += countBeforeStart();
+        var node = getRoot();
+        while (true) {
+            int leftSize = Node.size(node.left);
+            if (index == leftSize) {
+                return node.element;
+            }
+            if (index < leftSize) {
+                node = node.left;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
     }
 
     /**
@@ -721,6 +1492,9 @@ public class BSTSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
             }
             E next = nextNode.element;
             nextNode = descendingOrder ? previousNode(nextNode) : nextNode(nextNode);
+            if (nextNode != null && !inRange(nextNode.element)) {
+                nextNode = null;
+            }
             return next;
         }
     }
@@ -730,6 +1504,9 @@ public class BSTSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
      */
     @Override
     public int size() {
-        return treeId.size;
+        if (fromStart && toEnd) {
+            return treeId.size;
+        }
+        return Math.max(0, countBeforeEnd() - countBeforeStart());
     }
 }
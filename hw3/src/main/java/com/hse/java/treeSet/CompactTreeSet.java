@@ -0,0 +1,545 @@
+package com.hse.java.treeSet;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Realisation of set using balanced binary search tree without parent links.
+ * Nodes keep only element, sons and height, so they are smaller than BSTSet nodes
+ * and rotations do not have to fix parents.
+ * Iterators keep the path to the current node in an explicit stack,
+ * which is reused by the next iterator after the previous one finished.
+ * @param <E>  the type of elements maintained by this set
+ */
+public class CompactTreeSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
+    /**
+     * Tree node.
+     * @param <E> the type of elements maintained by this node
+     */
+    private static class Node<E> {
+        private E element;
+        private Node<E> left;
+        private Node<E> right;
+        /**
+         * Node's height from the bottom of the tree.
+         */
+        private int height = 1;
+
+        private Node(@NotNull E element) {
+            this.element = element;
+        }
+
+        /**
+         * Node height in the tree.
+         * @return node height or 0 if node is null
+         */
+        private static int height(@Nullable Node<?> node) {
+            return node == null ? 0 : node.height;
+        }
+
+        private void updateHeight() {
+            height = 1 + Math.max(height(left), height(right));
+        }
+
+        /**
+         * AVL left or right rotation.
+         * @param isRight true then right rotation happens and left otherwise
+         * @return the highest node after rotation
+         */
+        @NotNull
+        private Node<E> rotate(boolean isRight) {
+            Node<E> son;
+            if (isRight) {
+                son = left;
+                left = son.right;
+                son.right = this;
+            } else {
+                son = right;
+                right = son.left;
+                son.left = this;
+            }
+            updateHeight();
+            son.updateHeight();
+            return son;
+        }
+
+        /**
+         * Rotate if |height(left) - height(right)| > 1.
+         * @return the highest node after rotation
+         */
+        @NotNull
+        private Node<E> balance() {
+            updateHeight();
+            int diff = height(left) - height(right);
+            if (diff > 1) {
+                if (height(left.left) < height(left.right)) {
+                    left = left.rotate(false);
+                }
+                return rotate(true);
+            }
+            if (diff < -1) {
+                if (height(right.right) < height(right.left)) {
+                    right = right.rotate(true);
+                }
+                return rotate(false);
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Storage for tree's root, comparator, size and version.
+     * Shared with descending copy.
+     * @param <E> node type that tree contains
+     */
+    private static class TreeId<E> {
+        private Node<E> root = null;
+        /**
+         * The number of elements in the set.
+         */
+        private int size = 0;
+        /**
+         * Comparator for navigating in the tree and comparing elements.
+         */
+        private final Comparator<? super E> comparator;
+        /**
+         * Tree version.
+         * Equals to the number of modifications that were made with this tree.
+         * Made for iterator invalidation.
+         */
+        private int version = 0;
+        /**
+         * Stack left by the last finished iterator, null if it is taken.
+         */
+        private Node<E>[] spareStack = null;
+
+        private TreeId(Comparator<? super E> comparator) {
+            this.comparator = comparator;
+        }
+    }
+
+    /**
+     * Contains information about root, comparator, size and version.
+     */
+    private TreeId<E> treeId;
+
+    /**
+     * Descending set copy.
+     * It is saved in order to have only one descending copy.
+     */
+    private CompactTreeSet<E> descendingSet;
+    /**
+     * True iff elements are sorted in a descending order.
+     */
+    private boolean descendingOrder = false;
+
+    /**
+     * Constructs empty CompactTreeSet. Natural comparator is used.
+     * If elements cannot be compared, ClassCastException can be thrown
+     */
+    public CompactTreeSet() {
+        treeId = new TreeId<>(null);
+    }
+
+    /**
+     * Constructs empty CompactTreeSet with comparator.
+     * @param comparator comparator used for comparing set elements.
+     */
+    public CompactTreeSet(@NotNull Comparator<? super E> comparator) {
+        treeId = new TreeId<>(comparator);
+    }
+
+    /**
+     * Compare E elements using comparator if it is given.
+     * @return 0, if a == b, integer less than 0, if a < b,
+     *  integer greater than 0, if a > b
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(@NotNull Object a, @NotNull E b) {
+        if (treeId.comparator != null) {
+            return treeId.comparator.compare((E) a, b);
+        }
+        return ((Comparable<? super E>) a).compareTo(b);
+    }
+
+    /**
+     * Checks if element is included into the set.
+     * @param object object to be checked for containment in this set
+     * @throws ClassCastException if object cannot be cased to E
+     * or compared with elements correctly
+     * @return true if this set contains the specified element
+     */
+    @Override
+    public boolean contains(@NotNull Object object) throws ClassCastException {
+        var node = treeId.root;
+        while (node != null) {
+            int result = compare(object, node.element);
+            if (result == 0) {
+                return true;
+            }
+            node = result < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    /**
+     * Add element to the set.
+     * @param element element to add
+     * @return true if there was no such element
+     */
+    @Override
+    public boolean add(@NotNull E element) {
+        int oldSize = treeId.size;
+        treeId.root = insert(treeId.root, element);
+        if (oldSize == treeId.size) {
+            return false;
+        }
+        treeId.version++;
+        return true;
+    }
+
+    /**
+     * Add element to the subtree.
+     * @return new subtree root
+     */
+    @NotNull
+    private Node<E> insert(@Nullable Node<E> node, @NotNull E element) {
+        if (node == null) {
+            treeId.size++;
+            return new Node<>(element);
+        }
+        int result = compare(element, node.element);
+        if (result == 0) {
+            return node;
+        }
+        if (result < 0) {
+            node.left = insert(node.left, element);
+        } else {
+            node.right = insert(node.right, element);
+        }
+        return node.balance();
+    }
+
+    /**
+     * Remove object from the set.
+     * @param object object to remove
+     * @throws ClassCastException if object cannot be casted to E
+     * @return true if there was such object
+     */
+    @Override
+    public boolean remove(@NotNull Object object) throws ClassCastException {
+        int oldSize = treeId.size;
+        treeId.root = delete(treeId.root, object);
+        if (oldSize == treeId.size) {
+            return false;
+        }
+        treeId.version++;
+        return true;
+    }
+
+    /**
+     * Remove object from the subtree.
+     * @return new subtree root
+     */
+    @Nullable
+    private Node<E> delete(@Nullable Node<E> node, @NotNull Object object) {
+        if (node == null) {
+            return null;
+        }
+        int result = compare(object, node.element);
+        if (result < 0) {
+            node.left = delete(node.left, object);
+            return node.balance();
+        }
+        if (result > 0) {
+            node.right = delete(node.right, object);
+            return node.balance();
+        }
+        if (node.left == null || node.right == null) {
+            treeId.size--;
+            return node.left == null ? node.right : node.left;
+        }
+        var next = node.right;
+        while (next.left != null) {
+            next = next.left;
+        }
+        node.element = next.element;
+        node.right = delete(node.right, next.element);
+        return node.balance();
+    }
+
+    /**
+     * Remove all the elements.
+     */
+    @Override
+    public void clear() {
+        treeId.root = null;
+        treeId.size = 0;
+        treeId.version++;
+    }
+
+    /**
+     * Returns an iterator over the elements in this set in descending order.
+     */
+    @Override
+    @NotNull
+    public Iterator<E> descendingIterator() {
+        return descendingSet().iterator();
+    }
+
+    /**
+     * Returns a reverse order view of the elements contained in this set.
+     */
+    @Override
+    @NotNull
+    public MyTreeSet<E> descendingSet() {
+        if (descendingSet == null) {
+            descendingSet = new CompactTreeSet<>();
+            descendingSet.descendingSet = this;
+            descendingSet.descendingOrder = !descendingOrder;
+            descendingSet.treeId = treeId;
+        }
+        return descendingSet;
+    }
+
+    /**
+     * Find the leftmost or the rightmost element of the tree.
+     * @param isLeft true if the leftmost element should be found
+     */
+    @Nullable
+    private E limitElement(boolean isLeft) {
+        var node = treeId.root;
+        if (node == null) {
+            return null;
+        }
+        var next = isLeft ? node.left : node.right;
+        while (next != null) {
+            node = next;
+            next = isLeft ? node.left : node.right;
+        }
+        return node.element;
+    }
+
+    /**
+     * Find the smallest element greater (or equal) than given one in ascending order.
+     * @param inclusive true iff equal element can be found
+     */
+    @Nullable
+    private E higherElement(@NotNull E element, boolean inclusive) {
+        E bound = null;
+        var node = treeId.root;
+        while (node != null) {
+            int result = compare(element, node.element);
+            if (result == 0 && inclusive) {
+                return node.element;
+            }
+            if (result < 0) {
+                bound = node.element;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Find the greatest element less (or equal) than given one in ascending order.
+     * @param inclusive true iff equal element can be found
+     */
+    @Nullable
+    private E lowerElement(@NotNull E element, boolean inclusive) {
+        E bound = null;
+        var node = treeId.root;
+        while (node != null) {
+            int result = compare(element, node.element);
+            if (result == 0 && inclusive) {
+                return node.element;
+            }
+            if (result > 0) {
+                bound = node.element;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Find the lowest element in the set
+     * or null if there is none.
+     */
+    @Override
+    @Nullable
+    public E first() {
+        return limitElement(!descendingOrder);
+    }
+
+    /**
+     * Find the highest element in the set
+     * or null if there is none.
+     */
+    @Override
+    @Nullable
+    public E last() {
+        return limitElement(descendingOrder);
+    }
+
+    /**
+     * Find the greatest element less than given one.
+     * @param e element to find bound
+     * @return bound or null if none
+     */
+    @Override
+    @Nullable
+    public E lower(@NotNull E e) {
+        return descendingOrder ? higherElement(e, false) : lowerElement(e, false);
+    }
+
+    /**
+     * Find the greatest element less or equal than given one.
+     * @param e element to find bound
+     * @return bound or null if none
+     */
+    @Override
+    @Nullable
+    public E floor(@NotNull E e) {
+        return descendingOrder ? higherElement(e, true) : lowerElement(e, true);
+    }
+
+    /**
+     * Find the smallest element greater or equal than given one.
+     * @param e element to find bound
+     * @return bound or null if none
+     */
+    @Override
+    @Nullable
+    public E ceiling(@NotNull E e) {
+        return descendingOrder ? lowerElement(e, true) : higherElement(e, true);
+    }
+
+    /**
+     * Find the smallest element greater than given one.
+     * @param e element to find bound
+     * @return bound or null if none
+     */
+    @Override
+    @Nullable
+    public E higher(@NotNull E e) {
+        return descendingOrder ? lowerElement(e, false) : higherElement(e, false);
+    }
+
+    /**
+     * Returns an iterator over the elements in this set in ascending order.
+     */
+    @Override
+    @NotNull
+    public Iterator<E> iterator() {
+        return new TreeIterator();
+    }
+
+    /**
+     * Tree iterator keeps the path to the next node in the stack,
+     * as nodes have no parent links.
+     * The stack is returned to the tree when iteration is finished.
+     */
+    private class TreeIterator implements Iterator<E> {
+        private Node<E>[] stack;
+        private int stackSize = 0;
+        /**
+         * Tree version when the iterator was constructed.
+         * Iterator is valid iff start version equals to current tree version.
+         */
+        private final int startVersion;
+
+        /**
+         * Construct iterator. Starts from the smallest element.
+         */
+        private TreeIterator() {
+            startVersion = treeId.version;
+            int height = Node.height(treeId.root);
+            stack = treeId.spareStack;
+            if (stack != null && stack.length >= height) {
+                treeId.spareStack = null;
+            } else {
+                @SuppressWarnings("unchecked")
+                var newStack = (Node<E>[]) new Node<?>[height];
+                stack = newStack;
+            }
+            pushPath(treeId.root);
+            releaseIfFinished();
+        }
+
+        /**
+         * Push nodes from the node to the smallest element of its subtree.
+         */
+        private void pushPath(@Nullable Node<E> node) {
+            while (node != null) {
+                stack[stackSize++] = node;
+                node = descendingOrder ? node.right : node.left;
+            }
+        }
+
+        /**
+         * Give the stack back to the tree if there are no more elements.
+         */
+        private void releaseIfFinished() {
+            if (stackSize == 0 && stack != null) {
+                if (treeId.spareStack == null || treeId.spareStack.length < stack.length) {
+                    treeId.spareStack = stack;
+                }
+                stack = null;
+            }
+        }
+
+        /**
+         * Check if iterator is valid.
+         * @throws ConcurrentModificationException if set was modified.
+         */
+        private void checkValidity() throws ConcurrentModificationException {
+            if (startVersion != treeId.version) {
+                throw new ConcurrentModificationException(
+                        "Iterator is invalid because set was modified.");
+            }
+        }
+
+        /**
+         * Checks if there is next element in the set.
+         * @throws ConcurrentModificationException if set was modified.
+         */
+        @Override
+        public boolean hasNext() throws ConcurrentModificationException {
+            checkValidity();
+            return stackSize > 0;
+        }
+
+        /**
+         * Move iterator to the next element.
+         * @throws ConcurrentModificationException if set was modified.
+         * @throws NoSuchElementException if hasNext() == false
+         * @return next element
+         */
+        @Override
+        public E next() throws ConcurrentModificationException, NoSuchElementException {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Next element is null.");
+            }
+            var node = stack[--stackSize];
+            stack[stackSize] = null;
+            pushPath(descendingOrder ? node.left : node.right);
+            releaseIfFinished();
+            return node.element;
+        }
+    }
+
+    /**
+     * Returns the number of elements in this set.
+     */
+    @Override
+    public int size() {
+        return treeId.size;
+    }
+}
@@ -0,0 +1,195 @@
+package com.hse.java.treeSet;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Thread-safe realisation of set using lock-free skip list.
+ * Many threads can read and modify the set at the same time without locking.
+ * Iterators are weakly consistent: they never throw ConcurrentModificationException
+ * and reflect some of the modifications made after their construction.
+ * @param <E>  the type of elements maintained by this set
+ */
+public class ConcurrentTreeSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
+    /**
+     * Skip list containing elements in the set order.
+     */
+    private final NavigableSet<E> skipList;
+
+    /**
+     * Descending set copy.
+     * It is saved in order to have only one descending copy.
+     */
+    private ConcurrentTreeSet<E> descendingSet;
+
+    /**
+     * Constructs empty ConcurrentTreeSet. Natural comparator is used.
+     * If elements cannot be compared, ClassCastException can be thrown
+     */
+    public ConcurrentTreeSet() {
+        skipList = new ConcurrentSkipListSet<>();
+    }
+
+    /**
+     * Constructs empty ConcurrentTreeSet with comparator.
+     * @param comparator comparator used for comparing set elements.
+     */
+    public ConcurrentTreeSet(@NotNull Comparator<? super E> comparator) {
+        skipList = new ConcurrentSkipListSet<>(comparator);
+    }
+
+    private ConcurrentTreeSet(@NotNull NavigableSet<E> skipList, @NotNull ConcurrentTreeSet<E> descendingSet) {
+        this.skipList = skipList;
+        this.descendingSet = descendingSet;
+    }
+
+    /**
+     * Checks if element is included into the set.
+     * @param object object to be checked for containment in this set
+     * @throws ClassCastException if object cannot be cased to E
+     * or compared with elements correctly
+     * @return true if this set contains the specified element
+     */
+    @Override
+    public boolean contains(@NotNull Object object) throws ClassCastException {
+        return skipList.contains(object);
+    }
+
+    /**
+     * Add element to the set.
+     * @param element element to add
+     * @return true if there was no such element
+     */
+    @Override
+    public boolean add(@NotNull E element) {
+        return skipList.add(element);
+    }
+
+    /**
+     * Remove object from the set.
+     * @param object object to remove
+     * @throws ClassCastException if object cannot be casted to E
+     * @return true if there was such object
+     */
+    @Override
+    public boolean remove(@NotNull Object object) throws ClassCastException {
+        return skipList.remove(object);
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the elements in this set in descending order.
+     */
+    @Override
+    @NotNull
+    public Iterator<E> descendingIterator() {
+        return skipList.descendingIterator();
+    }
+
+    /**
+     * Returns a reverse order view of the elements contained in this set.
+     */
+    @Override
+    @NotNull
+    public MyTreeSet<E> descendingSet() {
+        if (descendingSet == null) {
+            descendingSet = new ConcurrentTreeSet<>(skipList.descendingSet(), this);
+        }
+        return descendingSet;
+    }
+
+    /**
+     * Find the lowest element in the set
+     * or null if there is none.
+     */
+    @Override
+    @Nullable
+    public E first() {
+        var iterator = skipList.iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    /**
+     * Find the highest element in the set
+     * or null if there is none.
+     */
+    @Override
+    @Nullable
+    public E last() {
+        var iterator = skipList.descendingIterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    /**
+     * Find the greatest element less than given one.
+     * @param e element to find bound
+     * @return bound or null if none
+     */
+    @Override
+    @Nullable
+    public E lower(@NotNull E e) {
+        return skipList.lower(e);
+    }
+
+    /**
+     * Find the greatest element less or equal than given one.
+     * @param e element to find bound
+     * @return bound or null if none
+     */
+    @Override
+    @Nullable
+    public E floor(@NotNull E e) {
+        return skipList.floor(e);
+    }
+
+    /**
+     * Find the smallest element greater or equal than given one.
+     * @param e element to find bound
+     * @return bound or null if none
+     */
+    @Override
+    @Nullable
+    public E ceiling(@NotNull E e) {
+        return skipList.ceiling(e);
+    }
+
+    /**
+     * Find the smallest element greater than given one.
+     * @param e element to find bound
+     * @return bound or null if none
+     */
+    @Override
+    @Nullable
+    public E higher(@NotNull E e) {
+        return skipList.higher(e);
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the elements in this set in ascending order.
+     */
+    @Override
+    @NotNull
+    public Iterator<E> iterator() {
+        return skipList.iterator();
+    }
+
+    /**
+     * Returns the number of elements in this set.
+     * Takes linear time and may be inaccurate if the set is being modified.
+     */
+    @Override
+    public int size() {
+        return skipList.size();
+    }
+
+    /**
+     * Returns true iff this set contains no elements.
+     * Takes constant time unlike size().
+     */
+    @Override
+    public boolean isEmpty() {
+        return skipList.isEmpty();
+    }
+}
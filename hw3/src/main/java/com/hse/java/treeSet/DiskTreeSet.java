@@ -0,0 +1,1111 @@
+package com.hse.java.treeSet;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Realisation of set using B+ tree stored in a file.
+ * Nodes are fixed-size pages read and written through FileChannel,
+ * only a bounded number of recently used pages is kept in memory.
+ * Elements are written by a codec of fixed size.
+ * Changes reach the file when pages leave the cache, on flush() and on close().
+ * The comparator is not stored in the file, so the set should be reopened with the same one.
+ * @param <E>  the type of elements maintained by this set
+ */
+public class DiskTreeSet<E> extends AbstractSet<E> implements MyTreeSet<E>, Closeable {
+    /**
+     * Converts elements to bytes and back.
+     * @param <E> the type of elements
+     */
+    public interface Codec<E> {
+        /**
+         * Number of bytes taken by any element.
+         */
+        int size();
+
+        /**
+         * Write element to the buffer at its position.
+         */
+        void write(@NotNull E element, @NotNull ByteBuffer buffer);
+
+        /**
+         * Read element from the buffer at its position.
+         */
+        @NotNull
+        E read(@NotNull ByteBuffer buffer);
+    }
+
+    /**
+     * Codec for Long elements.
+     */
+    public static final Codec<Long> LONG_CODEC = new Codec<>() {
+        @Override
+        public int size() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(@NotNull Long element, @NotNull ByteBuffer buffer) {
+            buffer.putLong(element);
+        }
+
+        @Override
+        @NotNull
+        public Long read(@NotNull ByteBuffer buffer) {
+            return buffer.getLong();
+        }
+    };
+
+    /**
+     * Codec for Integer elements.
+     */
+    public static final Codec<Integer> INTEGER_CODEC = new Codec<>() {
+        @Override
+        public int size() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(@NotNull Integer element, @NotNull ByteBuffer buffer) {
+            buffer.putInt(element);
+        }
+
+        @Override
+        @NotNull
+        public Integer read(@NotNull ByteBuffer buffer) {
+            return buffer.getInt();
+        }
+    };
+
+    static final int PAGE_SIZE = 4096;
+    /**
+     * Page number meaning absence of page. Page 0 is the file header.
+     */
+    private static final int NO_PAGE = 0;
+    private static final int MAGIC = 0x44545331;
+    /**
+     * Page type, count, next and previous page numbers.
+     */
+    private static final int PAGE_HEADER_SIZE = 1 + 3 * Integer.BYTES;
+    /**
+     * Maximum element size such that an inner page contains at least four keys.
+     */
+    private static final int MAX_ELEMENT_SIZE = (PAGE_SIZE - PAGE_HEADER_SIZE - Integer.BYTES) / 4 - Integer.BYTES;
+    private static final byte LEAF = 0;
+    private static final byte INNER = 1;
+    private static final byte FREE = 2;
+
+    /**
+     * Page decoded from the file.
+     * Keys are sorted and can temporarily overflow by one before split.
+     * For inner pages all the elements in children[i] are less than keys[i],
+     * and all the elements in children[i + 1] are greater or equal than keys[i].
+     * Next links free pages as well.
+     */
+    private static class Page {
+        private final int number;
+        private byte type;
+        private int count;
+        private final Object[] keys;
+        private final int[] children;
+        private int next = NO_PAGE;
+        private int previous = NO_PAGE;
+        /**
+         * True iff the page was changed after it was read or written.
+         */
+        private boolean isDirty;
+
+        private Page(int number, byte type, int maxKeys) {
+            this.number = number;
+            this.type = type;
+            keys = new Object[maxKeys + 1];
+            children = new int[maxKeys + 2];
+        }
+
+        private boolean isLeaf() {
+            return type == LEAF;
+        }
+    }
+
+    /**
+     * Result of page split: new right page and the key separating it from the left one.
+     */
+    private static class Split {
+        private final Object key;
+        private final int right;
+
+        private Split(@NotNull Object key, int right) {
+            this.key = key;
+            this.right = right;
+        }
+    }
+
+    /**
+     * Storage for file, page cache, tree header, comparator and size.
+     * Shared with descending copy.
+     * @param <E> the type of elements maintained by the tree
+     */
+    private static class TreeId<E> {
+        private final FileChannel channel;
+        private final Codec<E> codec;
+        /**
+         * Comparator for navigating in the tree and comparing elements.
+         */
+        private final Comparator<? super E> comparator;
+        /**
+         * Maximum number of keys in a page.
+         */
+        private final int maxKeys;
+        /**
+         * Maximum number of pages kept in memory between operations.
+         */
+        private final int cachePages;
+        /**
+         * Pages in the order of access, the least recently used is the first.
+         */
+        private final LinkedHashMap<Integer, Page> cache = new LinkedHashMap<>(16, 0.75f, true);
+        private final ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE);
+        private int root;
+        /**
+         * The leftmost leaf.
+         */
+        private int head;
+        /**
+         * The rightmost leaf.
+         */
+        private int tail;
+        /**
+         * The number of elements in the set.
+         */
+        private int size;
+        /**
+         * The number of pages in the file including the header.
+         */
+        private int pageCount;
+        /**
+         * The first page of the free pages list.
+         */
+        private int freeHead = NO_PAGE;
+        /**
+         * Tree version.
+         * Equals to the number of modifications that were made with this tree.
+         * Made for iterator invalidation.
+         */
+        private int version = 0;
+
+        private TreeId(@NotNull FileChannel channel, @NotNull Codec<E> codec,
+                       Comparator<? super E> comparator, int cachePages) {
+            this.channel = channel;
+            this.codec = codec;
+            this.comparator = comparator;
+            this.cachePages = cachePages;
+            maxKeys = (PAGE_SIZE - PAGE_HEADER_SIZE - Integer.BYTES) / (codec.size() + Integer.BYTES);
+        }
+    }
+
+    /**
+     * Contains information about file, cache, root, comparator and size.
+     */
+    private TreeId<E> treeId;
+
+    /**
+     * Descending set copy.
+     * It is saved in order to have only one descending copy.
+     */
+    private DiskTreeSet<E> descendingSet;
+    /**
+     * True iff elements are sorted in a descending order.
+     */
+    private boolean descendingOrder = false;
+
+    private DiskTreeSet() {
+    }
+
+    /**
+     * Opens DiskTreeSet stored in the file or creates it if the file is empty.
+     * Natural comparator is used.
+     * If elements cannot be compared, ClassCastException can be thrown
+     * @param file file to store the tree
+     * @param codec codec writing elements to pages
+     * @param cachePages maximum number of pages kept in memory
+     * @throws IOException if the file cannot be opened or is not a set with such element size
+     * @throws IllegalArgumentException if cachePages is not positive or elements are too big for a page
+     */
+    public DiskTreeSet(@NotNull Path file, @NotNull Codec<E> codec, int cachePages)
+            throws IOException, IllegalArgumentException {
+        open(file, codec, null, cachePages);
+    }
+
+    /**
+     * Opens DiskTreeSet stored in the file or creates it if the file is empty.
+     * @param file file to store the tree
+     * @param codec codec writing elements to pages
+     * @param cachePages maximum number of pages kept in memory
+     * @param comparator comparator used for comparing set elements.
+     * @throws IOException if the file cannot be opened or is not a set with such element size
+     * @throws IllegalArgumentException if cachePages is not positive or elements are too big for a page
+     */
+    public DiskTreeSet(@NotNull Path file, @NotNull Codec<E> codec, int cachePages,
+                       @NotNull Comparator<? super E> comparator) throws IOException, IllegalArgumentException {
+        open(file, codec, comparator, cachePages);
+    }
+
+    private void open(@NotNull Path file, @NotNull Codec<E> codec, @Nullable Comparator<? super E> comparator,
+                      int cachePages) throws IOException, IllegalArgumentException {
+        if (cachePages < 1) {
+            throw new IllegalArgumentException("Cache should contain at least one page.");
+        }
+        if (codec.size() < 1 || codec.size() > MAX_ELEMENT_SIZE) {
+            throw new IllegalArgumentException("Element size should be from 1 to " + MAX_ELEMENT_SIZE + " bytes.");
+        }
+        var channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        treeId = new TreeId<>(channel, codec, comparator, cachePages);
+        try {
+            if (channel.size() == 0) {
+                treeId.pageCount = 1;
+                var root = newPage(LEAF);
+                treeId.root = root.number;
+                treeId.head = root.number;
+                treeId.tail = root.number;
+                flush();
+            } else {
+                readHeader();
+            }
+        } catch (IOException | UncheckedIOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void readHeader() throws IOException {
+        var buffer = treeId.buffer;
+        readFully(0);
+        if (buffer.getInt() != MAGIC || buffer.getInt() != treeId.codec.size()) {
+            throw new IOException("File does not contain a set of elements of size " + treeId.codec.size() + ".");
+        }
+        treeId.root = buffer.getInt();
+        treeId.head = buffer.getInt();
+        treeId.tail = buffer.getInt();
+        treeId.size = buffer.getInt();
+        treeId.pageCount = buffer.getInt();
+        treeId.freeHead = buffer.getInt();
+    }
+
+    private void writeHeader() throws IOException {
+        var buffer = treeId.buffer;
+        buffer.clear();
+        buffer.putInt(MAGIC);
+        buffer.putInt(treeId.codec.size());
+        buffer.putInt(treeId.root);
+        buffer.putInt(treeId.head);
+        buffer.putInt(treeId.tail);
+        buffer.putInt(treeId.size);
+        buffer.putInt(treeId.pageCount);
+        buffer.putInt(treeId.freeHead);
+        writeFully(0);
+    }
+
+    /**
+     * Read the page from the file to the buffer.
+     */
+    private void readFully(int number) throws IOException {
+        var buffer = treeId.buffer;
+        buffer.clear();
+        long position = (long) number * PAGE_SIZE;
+        while (buffer.hasRemaining()) {
+            if (treeId.channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Page " + number + " is out of the file.");
+            }
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Write the whole buffer to the page of the file.
+     */
+    private void writeFully(int number) throws IOException {
+        var buffer = treeId.buffer;
+        buffer.position(0);
+        buffer.limit(PAGE_SIZE);
+        long position = (long) number * PAGE_SIZE;
+        while (buffer.hasRemaining()) {
+            treeId.channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    /**
+     * Get the page from the cache or read it from the file.
+     * @throws UncheckedIOException if the page cannot be read
+     */
+    @NotNull
+    private Page page(int number) throws UncheckedIOException {
+        var page = treeId.cache.get(number);
+        if (page != null) {
+            return page;
+        }
+        try {
+            readFully(number);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        var buffer = treeId.buffer;
+        page = new Page(number, buffer.get(), treeId.maxKeys);
+        page.count = buffer.getInt();
+        page.next = buffer.getInt();
+        page.previous = buffer.getInt();
+        int keySize = treeId.codec.size();
+        for (int i = 0; i < page.count; i++) {
+            buffer.position(PAGE_HEADER_SIZE + i * keySize);
+            page.keys[i] = treeId.codec.read(buffer);
+        }
+        if (page.type == INNER) {
+            buffer.position(PAGE_HEADER_SIZE + treeId.maxKeys * keySize);
+            for (int i = 0; i <= page.count; i++) {
+                page.children[i] = buffer.getInt();
+            }
+        }
+        treeId.cache.put(number, page);
+        return page;
+    }
+
+    /**
+     * Write the page to the file.
+     * @throws IllegalStateException if the codec writes more bytes than its size
+     */
+    @SuppressWarnings("unchecked")
+    private void writePage(@NotNull Page page) throws IOException, IllegalStateException {
+        var buffer = treeId.buffer;
+        buffer.clear();
+        buffer.put(page.type);
+        buffer.putInt(page.count);
+        buffer.putInt(page.next);
+        buffer.putInt(page.previous);
+        int keySize = treeId.codec.size();
+        for (int i = 0; i < page.count; i++) {
+            int start = PAGE_HEADER_SIZE + i * keySize;
+            buffer.position(start);
+            treeId.codec.write((E) page.keys[i], buffer);
+            if (buffer.position() > start + keySize) {
+                throw new IllegalStateException("Codec wrote more than " + keySize + " bytes.");
+            }
+        }
+        if (page.type == INNER) {
+            buffer.position(PAGE_HEADER_SIZE + treeId.maxKeys * keySize);
+            for (int i = 0; i <= page.count; i++) {
+                buffer.putInt(page.children[i]);
+            }
+        }
+        writeFully(page.number);
+        page.isDirty = false;
+    }
+
+    /**
+     * Take a free page or append a new one to the file.
+     */
+    @NotNull
+    private Page newPage(byte type) {
+        int number;
+        if (treeId.freeHead != NO_PAGE) {
+            number = treeId.freeHead;
+            treeId.freeHead = page(number).next;
+        } else {
+            number = treeId.pageCount++;
+        }
+        var page = new Page(number, type, treeId.maxKeys);
+        page.isDirty = true;
+        treeId.cache.put(number, page);
+        return page;
+    }
+
+    /**
+     * Put the page to the free pages list.
+     */
+    private void freePage(@NotNull Page page) {
+        page.type = FREE;
+        Arrays.fill(page.keys, 0, page.count, null);
+        page.count = 0;
+        page.previous = NO_PAGE;
+        page.next = treeId.freeHead;
+        page.isDirty = true;
+        treeId.freeHead = page.number;
+    }
+
+    /**
+     * Evict the least recently used pages over the cache size writing the changed ones.
+     * Called between operations, so pages used by an operation are never evicted in its middle.
+     * @throws UncheckedIOException if a page cannot be written
+     */
+    private void trimCache() throws UncheckedIOException {
+        var pages = treeId.cache.values().iterator();
+        try {
+            while (treeId.cache.size() > treeId.cachePages) {
+                var page = pages.next();
+                if (page.isDirty) {
+                    writePage(page);
+                }
+                // Removed only after writing, so a page that failed to write keeps its changes.
+                pages.remove();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Write all changed pages and the header to the file.
+     * @throws IOException if the file cannot be written
+     */
+    public void flush() throws IOException {
+        for (var page : treeId.cache.values()) {
+            if (page.isDirty) {
+                writePage(page);
+            }
+        }
+        writeHeader();
+    }
+
+    /**
+     * Flush the set and close the file. The set and its views cannot be used after that.
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            treeId.channel.force(true);
+        } finally {
+            treeId.channel.close();
+            treeId.cache.clear();
+        }
+    }
+
+    /**
+     * Compare E elements using comparator if it is given.
+     * @return 0, if a == b, integer less than 0, if a < b,
+     *  integer greater than 0, if a > b
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(@NotNull Object a, @NotNull Object b) {
+        if (treeId.comparator != null) {
+            return treeId.comparator.compare((E) a, (E) b);
+        }
+        return ((Comparable<? super E>) a).compareTo((E) b);
+    }
+
+    /**
+     * Index of the first key greater or equal than element.
+     */
+    private int lowerBound(@NotNull Page page, @NotNull Object element) {
+        int low = 0;
+        int high = page.count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(page.keys[middle], element) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Index of the first key greater than element.
+     */
+    private int upperBound(@NotNull Page page, @NotNull Object element) {
+        int low = 0;
+        int high = page.count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(page.keys[middle], element) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Find the leaf where element is or should be.
+     */
+    @NotNull
+    private Page findLeaf(@NotNull Object element) {
+        var page = page(treeId.root);
+        while (!page.isLeaf()) {
+            page = page(page.children[upperBound(page, element)]);
+        }
+        return page;
+    }
+
+    /**
+     * Checks if element is included into the set.
+     * @param object object to be checked for containment in this set
+     * @throws ClassCastException if object cannot be cased to E
+     * or compared with elements correctly
+     * @throws UncheckedIOException if the file cannot be read or written
+     * @return true if this set contains the specified element
+     */
+    @Override
+    public boolean contains(@NotNull Object object) throws ClassCastException, UncheckedIOException {
+        var leaf = findLeaf(object);
+        int index = lowerBound(leaf, object);
+        boolean result = index < leaf.count && compare(object, leaf.keys[index]) == 0;
+        trimCache();
+        return result;
+    }
+
+    /**
+     * Add element to the set.
+     * @param element element to add
+     * @throws UncheckedIOException if the file cannot be read or written
+     * @return true if there was no such element
+     */
+    @Override
+    public boolean add(@NotNull E element) throws UncheckedIOException {
+        int oldSize = treeId.size;
+        var split = insert(page(treeId.root), element);
+        if (split != null) {
+            var root = newPage(INNER);
+            root.keys[0] = split.key;
+            root.children[0] = treeId.root;
+            root.children[1] = split.right;
+            root.count = 1;
+            treeId.root = root.number;
+        }
+        // The set is changed before flushing, so a failed flush does not leave a wrong size.
+        boolean isAdded = oldSize != treeId.size;
+        if (isAdded) {
+            treeId.version++;
+        }
+        trimCache();
+        return isAdded;
+    }
+
+    /**
+     * Add element to the subtree.
+     * @param page root of the subtree
+     * @param element element to add
+     * @return split of the page if it overflows or null
+     */
+    @Nullable
+    private Split insert(@NotNull Page page, @NotNull E element) {
+        if (page.isLeaf()) {
+            int index = lowerBound(page, element);
+            if (index < page.count && compare(element, page.keys[index]) == 0) {
+                return null;
+            }
+            insertAt(page.keys, index, element, page.count);
+            page.count++;
+            page.isDirty = true;
+            treeId.size++;
+            return page.count > treeId.maxKeys ? splitLeaf(page) : null;
+        }
+        int index = upperBound(page, element);
+        var split = insert(page(page.children[index]), element);
+        if (split == null) {
+            return null;
+        }
+        insertAt(page.keys, index, split.key, page.count);
+        insertAt(page.children, index + 1, split.right, page.count + 1);
+        page.count++;
+        page.isDirty = true;
+        return page.count > treeId.maxKeys ? splitInner(page) : null;
+    }
+
+    @NotNull
+    private Split splitLeaf(@NotNull Page leaf) {
+        var right = newPage(LEAF);
+        int leftCount = (leaf.count + 1) / 2;
+        right.count = leaf.count - leftCount;
+        System.arraycopy(leaf.keys, leftCount, right.keys, 0, right.count);
+        Arrays.fill(leaf.keys, leftCount, leaf.count, null);
+        leaf.count = leftCount;
+
+        right.next = leaf.next;
+        if (leaf.next != NO_PAGE) {
+            var next = page(leaf.next);
+            next.previous = right.number;
+            next.isDirty = true;
+        } else {
+            treeId.tail = right.number;
+        }
+        leaf.next = right.number;
+        right.previous = leaf.number;
+        return new Split(right.keys[0], right.number);
+    }
+
+    @NotNull
+    private Split splitInner(@NotNull Page inner) {
+        var right = newPage(INNER);
+        int middle = inner.count / 2;
+        var key = inner.keys[middle];
+        right.count = inner.count - middle - 1;
+        System.arraycopy(inner.keys, middle + 1, right.keys, 0, right.count);
+        System.arraycopy(inner.children, middle + 1, right.children, 0, right.count + 1);
+        Arrays.fill(inner.keys, middle, inner.count, null);
+        inner.count = middle;
+        return new Split(key, right.number);
+    }
+
+    /**
+     * Remove object from the set.
+     * @param object object to remove
+     * @throws ClassCastException if object cannot be casted to E
+     * @throws UncheckedIOException if the file cannot be read or written
+     * @return true if there was such object
+     */
+    @Override
+    public boolean remove(@NotNull Object object) throws ClassCastException, UncheckedIOException {
+        var root = page(treeId.root);
+        if (!delete(root, object)) {
+            trimCache();
+            return false;
+        }
+        if (!root.isLeaf() && root.count == 0) {
+            treeId.root = root.children[0];
+            freePage(root);
+        }
+        treeId.size--;
+        treeId.version++;
+        trimCache();
+        return true;
+    }
+
+    /**
+     * Remove object from the subtree.
+     * @param page root of the subtree
+     * @param object object to remove
+     * @return true if there was such object
+     */
+    private boolean delete(@NotNull Page page, @NotNull Object object) {
+        if (page.isLeaf()) {
+            int index = lowerBound(page, object);
+            if (index == page.count || compare(object, page.keys[index]) != 0) {
+                return false;
+            }
+            removeAt(page.keys, index, page.count);
+            page.count--;
+            page.isDirty = true;
+            return true;
+        }
+        int index = upperBound(page, object);
+        var child = page(page.children[index]);
+        if (!delete(child, object)) {
+            return false;
+        }
+        if (child.count < treeId.maxKeys / 2) {
+            rebalance(page, index);
+        }
+        return true;
+    }
+
+    /**
+     * Fix child underflow by borrowing a key from a sibling or merging with it.
+     * @param parent parent of the child
+     * @param index index of the child
+     */
+    private void rebalance(@NotNull Page parent, int index) {
+        int minKeys = treeId.maxKeys / 2;
+        if (index > 0) {
+            var left = page(parent.children[index - 1]);
+            if (left.count > minKeys) {
+                borrowFromLeft(parent, left, page(parent.children[index]), index);
+            } else {
+                merge(parent, left, page(parent.children[index]), index - 1);
+            }
+        } else {
+            var right = page(parent.children[index + 1]);
+            if (right.count > minKeys) {
+                borrowFromRight(parent, page(parent.children[index]), right, index);
+            } else {
+                merge(parent, page(parent.children[index]), right, index);
+            }
+        }
+        parent.isDirty = true;
+    }
+
+    private void borrowFromLeft(@NotNull Page parent, @NotNull Page left, @NotNull Page child, int index) {
+        child.isDirty = true;
+        left.isDirty = true;
+        if (child.isLeaf()) {
+            insertAt(child.keys, 0, left.keys[left.count - 1], child.count);
+            child.count++;
+            left.keys[--left.count] = null;
+            parent.keys[index - 1] = child.keys[0];
+            return;
+        }
+        insertAt(child.keys, 0, parent.keys[index - 1], child.count);
+        insertAt(child.children, 0, left.children[left.count], child.count + 1);
+        child.count++;
+        parent.keys[index - 1] = left.keys[left.count - 1];
+        left.keys[left.count - 1] = null;
+        left.count--;
+    }
+
+    private void borrowFromRight(@NotNull Page parent, @NotNull Page child, @NotNull Page right, int index) {
+        child.isDirty = true;
+        right.isDirty = true;
+        if (child.isLeaf()) {
+            child.keys[child.count++] = right.keys[0];
+            removeAt(right.keys, 0, right.count);
+            right.count--;
+            parent.keys[index] = right.keys[0];
+            return;
+        }
+        child.keys[child.count] = parent.keys[index];
+        child.children[child.count + 1] = right.children[0];
+        child.count++;
+        parent.keys[index] = right.keys[0];
+        removeAt(right.keys, 0, right.count);
+        System.arraycopy(right.children, 1, right.children, 0, right.count);
+        right.count--;
+    }
+
+    /**
+     * Merge child with its right sibling, the right page becomes free.
+     * @param parent parent of the children
+     * @param index index of the left child
+     */
+    private void merge(@NotNull Page parent, @NotNull Page left, @NotNull Page right, int index) {
+        if (left.isLeaf()) {
+            System.arraycopy(right.keys, 0, left.keys, left.count, right.count);
+            left.count += right.count;
+            left.next = right.next;
+            if (right.next != NO_PAGE) {
+                var next = page(right.next);
+                next.previous = left.number;
+                next.isDirty = true;
+            } else {
+                treeId.tail = left.number;
+            }
+        } else {
+            left.keys[left.count] = parent.keys[index];
+            System.arraycopy(right.keys, 0, left.keys, left.count + 1, right.count);
+            System.arraycopy(right.children, 0, left.children, left.count + 1, right.count + 1);
+            left.count += right.count + 1;
+        }
+        left.isDirty = true;
+        removeAt(parent.keys, index, parent.count);
+        System.arraycopy(parent.children, index + 2, parent.children, index + 1, parent.count - index - 1);
+        parent.count--;
+        freePage(right);
+    }
+
+    /**
+     * Insert value to the array shifting elements to the right.
+     * @param length number of elements in the array
+     */
+    private static void insertAt(@NotNull Object[] array, int index, @NotNull Object value, int length) {
+        System.arraycopy(array, index, array, index + 1, length - index);
+        array[index] = value;
+    }
+
+    /**
+     * Insert page number to the array shifting elements to the right.
+     * @param length number of elements in the array
+     */
+    private static void insertAt(@NotNull int[] array, int index, int value, int length) {
+        System.arraycopy(array, index, array, index + 1, length - index);
+        array[index] = value;
+    }
+
+    /**
+     * Remove value from the array shifting elements to the left.
+     * @param length number of elements in the array
+     */
+    private static void removeAt(@NotNull Object[] array, int index, int length) {
+        System.arraycopy(array, index + 1, array, index, length - index - 1);
+        array[length - 1] = null;
+    }
+
+    /**
+     * Remove all the elements. The file is truncated to a single empty leaf.
+     * @throws UncheckedIOException if the file cannot be truncated
+     */
+    @Override
+    public void clear() throws UncheckedIOException {
+        try {
+            treeId.channel.truncate(PAGE_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        treeId.cache.clear();
+        treeId.pageCount = 1;
+        treeId.freeHead = NO_PAGE;
+        var root = newPage(LEAF);
+        treeId.root = root.number;
+        treeId.head = root.number;
+        treeId.tail = root.number;
+        treeId.size = 0;
+        treeId.version++;
+    }
+
+    /**
+     * Returns an iterator over the elements in this set in descending order.
+     */
+    @Override
+    @NotNull
+    public Iterator<E> descendingIterator() {
+        return descendingSet().iterator();
+    }
+
+    /**
+     * Returns a reverse order view of the elements contained in this set.
+     */
+    @Override
+    @NotNull
+    public MyTreeSet<E> descendingSet() {
+        if (descendingSet == null) {
+            descendingSet = new DiskTreeSet<>();
+            descendingSet.descendingSet = this;
+            descendingSet.descendingOrder = !descendingOrder;
+            descendingSet.treeId = treeId;
+        }
+        return descendingSet;
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private E firstElement() {
+        var head = page(treeId.head);
+        var result = head.count == 0 ? null : (E) head.keys[0];
+        trimCache();
+        return result;
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private E lastElement() {
+        var tail = page(treeId.tail);
+        var result = tail.count == 0 ? null : (E) tail.keys[tail.count - 1];
+        trimCache();
+        return result;
+    }
+
+    /**
+     * Element at the index in the leaf or in the neighbour leaf if index is out of the leaf.
+     * @return element or null if there is none
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private E elementAt(@NotNull Page leaf, int index) {
+        E result;
+        if (index < 0) {
+            if (leaf.previous == NO_PAGE) {
+                result = null;
+            } else {
+                var previous = page(leaf.previous);
+                result = (E) previous.keys[previous.count - 1];
+            }
+        } else if (index == leaf.count) {
+            result = leaf.next == NO_PAGE ? null : (E) page(leaf.next).keys[0];
+        } else {
+            result = (E) leaf.keys[index];
+        }
+        trimCache();
+        return result;
+    }
+
+    /**
+     * Find the greatest element less than given one in ascending order.
+     */
+    @Nullable
+    private E lowerElement(@NotNull E e) {
+        var leaf = findLeaf(e);
+        return elementAt(leaf, lowerBound(leaf, e) - 1);
+    }
+
+    /**
+     * Find the greatest element less or equal than given one in ascending order.
+     */
+    @Nullable
+    private E floorElement(@NotNull E e) {
+        var leaf = findLeaf(e);
+        return elementAt(leaf, upperBound(leaf, e) - 1);
+    }
+
+    /**
+     * Find the smallest element greater or equal than given one in ascending order.
+     */
+    @Nullable
+    private E ceilingElement(@NotNull E e) {
+        var leaf = findLeaf(e);
+        return elementAt(leaf, lowerBound(leaf, e));
+    }
+
+    /**
+     * Find the smallest element greater than given one in ascending order.
+     */
+    @Nullable
+    private E higherElement(@NotNull E e) {
+        var leaf = findLeaf(e);
+        return elementAt(leaf, upperBound(leaf, e));
+    }
+
+    /**
+     * Find the lowest element in the set
+     * or null if there is none.
+     */
+    @Override
+    @Nullable
+    public E first() {
+        return descendingOrder ? lastElement() : firstElement();
+    }
+
+    /**
+     * Find the highest element in the set
+     * or null if there is none.
+     */
+    @Override
+    @Nullable
+    public E last() {
+        return descendingOrder ? firstElement() : lastElement();
+    }
+
+    /**
+     * Find the greatest element less than given one.
+     * @param e element to find bound
+     * @return bound or null if none
+     */
+    @Override
+    @Nullable
+    public E lower(@NotNull E e) {
+        return descendingOrder ? higherElement(e) : lowerElement(e);
+    }
+
+    /**
+     * Find the greatest element less or equal than given one.
+     * @param e element to find bound
+     * @return bound or null if none
+     */
+    @Override
+    @Nullable
+    public E floor(@NotNull E e) {
+        return descendingOrder ? ceilingElement(e) : floorElement(e);
+    }
+
+    /**
+     * Find the smallest element greater or equal than given one.
+     * @param e element to find bound
+     * @return bound or null if none
+     */
+    @Override
+    @Nullable
+    public E ceiling(@NotNull E e) {
+        return descendingOrder ? floorElement(e) : ceilingElement(e);
+    }
+
+    /**
+     * Find the smallest element greater than given one.
+     * @param e element to find bound
+     * @return bound or null if none
+     */
+    @Override
+    @Nullable
+    public E higher(@NotNull E e) {
+        return descendingOrder ? lowerElement(e) : higherElement(e);
+    }
+
+    /**
+     * Returns an iterator over the elements in this set in ascending order.
+     */
+    @Override
+    @NotNull
+    public Iterator<E> iterator() {
+        return new LeafIterator();
+    }
+
+    /**
+     * Leaf iterator walks along linked leaves.
+     * It keeps page number instead of page, so the page can leave the cache between calls.
+     */
+    private class LeafIterator implements Iterator<E> {
+        private int leaf = NO_PAGE;
+        private int index;
+        /**
+         * Tree version when the iterator was constructed.
+         * Iterator is valid iff start version equals to current tree version.
+         */
+        private final int startVersion;
+
+        /**
+         * Construct iterator. Starts from the smallest element.
+         */
+        private LeafIterator() {
+            startVersion = treeId.version;
+            if (treeId.size > 0) {
+                leaf = descendingOrder ? treeId.tail : treeId.head;
+                index = descendingOrder ? page(leaf).count - 1 : 0;
+                trimCache();
+            }
+        }
+
+        /**
+         * Check if iterator is valid.
+         * @throws ConcurrentModificationException if set was modified.
+         */
+        private void checkValidity() throws ConcurrentModificationException {
+            if (startVersion != treeId.version) {
+                throw new ConcurrentModificationException(
+                        "Iterator is invalid because set was modified.");
+            }
+        }
+
+        /**
+         * Checks if there is next element in the set.
+         * @throws ConcurrentModificationException if set was modified.
+         */
+        @Override
+        public boolean hasNext() throws ConcurrentModificationException {
+            checkValidity();
+            return leaf != NO_PAGE;
+        }
+
+        /**
+         * Move iterator to the next element.
+         * @throws ConcurrentModificationException if set was modified.
+         * @throws NoSuchElementException if hasNext() == false
+         * @throws UncheckedIOException if the file cannot be read or written
+         * @return next element
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() throws ConcurrentModificationException, NoSuchElementException, UncheckedIOException {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Next element is null.");
+            }
+            var page = page(leaf);
+            var next = (E) page.keys[index];
+            if (descendingOrder) {
+                if (--index < 0) {
+                    leaf = page.previous;
+                    index = leaf == NO_PAGE ? 0 : page(leaf).count - 1;
+                }
+            } else if (++index == page.count) {
+                leaf = page.next;
+                index = 0;
+            }
+            trimCache();
+            return next;
+        }
+    }
+
+    /**
+     * Returns the number of elements in this set.
+     */
+    @Override
+    public int size() {
+        return treeId.size;
+    }
+}
@@ -0,0 +1,518 @@
+package com.hse.java.treeSet;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Realisation of ordered set of long values using balanced binary search tree.
+ * Nodes are stored in primitive arrays and referenced by index,
+ * so elements are never boxed and nodes are not separate objects.
+ * Navigation methods return missing value if there is no such element.
+ * The class intentionally does not implement MyTreeSet or Set:
+ * those interfaces would box every element and return null for absent elements.
+ * It mirrors their methods instead (contains, add, remove, first, last, lower, floor,
+ * ceiling, higher, descendingSet, descendingIterator) with long parameters and results.
+ * IntTreeSet is the same tree for the other primitive type,
+ * as generics cannot be used with primitives; changes to one class should be made in both.
+ */
+public class LongTreeSet {
+    /**
+     * Index meaning absence of node.
+     */
+    private static final int NIL = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Storage for tree nodes, root and size.
+     * Shared with descending copy.
+     */
+    private static class TreeId {
+        /**
+         * Node elements.
+         */
+        private long[] elements = new long[INITIAL_CAPACITY];
+        /**
+         * Left children, also links of free nodes list.
+         */
+        private int[] left = new int[INITIAL_CAPACITY];
+        private int[] right = new int[INITIAL_CAPACITY];
+        /**
+         * Node heights from the bottom of the tree.
+         */
+        private int[] height = new int[INITIAL_CAPACITY];
+        private int root = NIL;
+        /**
+         * The number of elements in the set.
+         */
+        private int size = 0;
+        /**
+         * Number of node slots ever used.
+         */
+        private int used = 0;
+        /**
+         * Head of the list of removed nodes that can be reused.
+         */
+        private int free = NIL;
+        /**
+         * Value returned if there is no such element.
+         */
+        private final long missingValue;
+        /**
+         * Tree version.
+         * Equals to the number of modifications that were made with this tree.
+         * Made for iterator invalidation.
+         */
+        private int version = 0;
+
+        private TreeId(long missingValue) {
+            this.missingValue = missingValue;
+        }
+    }
+
+    private TreeId treeId;
+
+    /**
+     * Descending set copy.
+     * It is saved in order to have only one descending copy.
+     */
+    private LongTreeSet descendingSet;
+    /**
+     * True iff elements are sorted in a descending order.
+     */
+    private boolean descendingOrder = false;
+
+    /**
+     * Constructs empty LongTreeSet with Long.MIN_VALUE as missing value.
+     */
+    public LongTreeSet() {
+        this(Long.MIN_VALUE);
+    }
+
+    /**
+     * Constructs empty LongTreeSet.
+     * @param missingValue value returned by navigation methods if there is no such element
+     */
+    public LongTreeSet(long missingValue) {
+        treeId = new TreeId(missingValue);
+    }
+
+    /**
+     * Value returned by navigation methods if there is no such element.
+     */
+    public long getMissingValue() {
+        return treeId.missingValue;
+    }
+
+    private int height(int node) {
+        return node == NIL ? 0 : treeId.height[node];
+    }
+
+    private void updateHeight(int node) {
+        treeId.height[node] = 1 + Math.max(height(treeId.left[node]), height(treeId.right[node]));
+    }
+
+    /**
+     * Take a free node slot, growing arrays if needed.
+     * @return index of a new leaf containing element
+     */
+    private int newNode(long element) {
+        int node = treeId.free;
+        if (node != NIL) {
+            treeId.free = treeId.left[node];
+        } else {
+            if (treeId.used == treeId.elements.length) {
+                int capacity = treeId.elements.length * 2;
+                treeId.elements = Arrays.copyOf(treeId.elements, capacity);
+                treeId.left = Arrays.copyOf(treeId.left, capacity);
+                treeId.right = Arrays.copyOf(treeId.right, capacity);
+                treeId.height = Arrays.copyOf(treeId.height, capacity);
+            }
+            node = treeId.used++;
+        }
+        treeId.elements[node] = element;
+        treeId.left[node] = NIL;
+        treeId.right[node] = NIL;
+        treeId.height[node] = 1;
+        return node;
+    }
+
+    private void freeNode(int node) {
+        treeId.left[node] = treeId.free;
+        treeId.free = node;
+    }
+
+    /**
+     * AVL left or right rotation.
+     * @param isRight true then right rotation happens and left otherwise
+     * @return the highest node after rotation
+     */
+    private int rotate(int node, boolean isRight) {
+        int[] toSon = isRight ? treeId.left : treeId.right;
+        int[] fromSon = isRight ? treeId.right : treeId.left;
+        int son = toSon[node];
+        toSon[node] = fromSon[son];
+        fromSon[son] = node;
+        updateHeight(node);
+        updateHeight(son);
+        return son;
+    }
+
+    /**
+     * Rotate if |height(left) - height(right)| > 1.
+     * @return the highest node after rotation
+     */
+    private int balance(int node) {
+        updateHeight(node);
+        int left = treeId.left[node];
+        int right = treeId.right[node];
+        int diff = height(left) - height(right);
+        if (diff > 1) {
+            if (height(treeId.left[left]) < height(treeId.right[left])) {
+                treeId.left[node] = rotate(left, false);
+            }
+            return rotate(node, true);
+        }
+        if (diff < -1) {
+            if (height(treeId.right[right]) < height(treeId.left[right])) {
+                treeId.right[node] = rotate(right, true);
+            }
+            return rotate(node, false);
+        }
+        return node;
+    }
+
+    /**
+     * Checks if element is included into the set.
+     */
+    public boolean contains(long element) {
+        int node = treeId.root;
+        while (node != NIL) {
+            long current = treeId.elements[node];
+            if (element == current) {
+                return true;
+            }
+            node = element < current ? treeId.left[node] : treeId.right[node];
+        }
+        return false;
+    }
+
+    /**
+     * Add element to the set.
+     * @return true if there was no such element
+     */
+    public boolean add(long element) {
+        int oldSize = treeId.size;
+        treeId.root = insert(treeId.root, element);
+        if (oldSize == treeId.size) {
+            return false;
+        }
+        treeId.version++;
+        return true;
+    }
+
+    /**
+     * Add element to the subtree.
+     * @return new subtree root
+     */
+    private int insert(int node, long element) {
+        if (node == NIL) {
+            treeId.size++;
+            return newNode(element);
+        }
+        long current = treeId.elements[node];
+        if (element == current) {
+            return node;
+        }
+        if (element < current) {
+            int son = insert(treeId.left[node], element);
+            treeId.left[node] = son;
+        } else {
+            int son = insert(treeId.right[node], element);
+            treeId.right[node] = son;
+        }
+        return balance(node);
+    }
+
+    /**
+     * Remove element from the set.
+     * @return true if there was such element
+     */
+    public boolean remove(long element) {
+        int oldSize = treeId.size;
+        treeId.root = delete(treeId.root, element);
+        if (oldSize == treeId.size) {
+            return false;
+        }
+        treeId.version++;
+        return true;
+    }
+
+    /**
+     * Remove element from the subtree.
+     * @return new subtree root
+     */
+    private int delete(int node, long element) {
+        if (node == NIL) {
+            return NIL;
+        }
+        long current = treeId.elements[node];
+        if (element < current) {
+            int son = delete(treeId.left[node], element);
+            treeId.left[node] = son;
+            return balance(node);
+        }
+        if (element > current) {
+            int son = delete(treeId.right[node], element);
+            treeId.right[node] = son;
+            return balance(node);
+        }
+        int left = treeId.left[node];
+        int right = treeId.right[node];
+        if (left == NIL || right == NIL) {
+            treeId.size--;
+            freeNode(node);
+            return left == NIL ? right : left;
+        }
+        int next = right;
+        while (treeId.left[next] != NIL) {
+            next = treeId.left[next];
+        }
+        treeId.elements[node] = treeId.elements[next];
+        int son = delete(right, treeId.elements[next]);
+        treeId.right[node] = son;
+        return balance(node);
+    }
+
+    /**
+     * Remove all the elements.
+     */
+    public void clear() {
+        treeId.root = NIL;
+        treeId.size = 0;
+        treeId.used = 0;
+        treeId.free = NIL;
+        treeId.version++;
+    }
+
+    /**
+     * Returns the number of elements in this set.
+     */
+    public int size() {
+        return treeId.size;
+    }
+
+    public boolean isEmpty() {
+        return treeId.size == 0;
+    }
+
+    /**
+     * Returns a reverse order view of the elements contained in this set.
+     */
+    @NotNull
+    public LongTreeSet descendingSet() {
+        if (descendingSet == null) {
+            descendingSet = new LongTreeSet(treeId.missingValue);
+            descendingSet.descendingSet = this;
+            descendingSet.descendingOrder = !descendingOrder;
+            descendingSet.treeId = treeId;
+        }
+        return descendingSet;
+    }
+
+    /**
+     * Find the leftmost or the rightmost element.
+     * @param isLeft true if the leftmost element should be found
+     */
+    private long limitElement(boolean isLeft) {
+        int node = treeId.root;
+        if (node == NIL) {
+            return treeId.missingValue;
+        }
+        int[] sons = isLeft ? treeId.left : treeId.right;
+        while (sons[node] != NIL) {
+            node = sons[node];
+        }
+        return treeId.elements[node];
+    }
+
+    /**
+     * Find the smallest element greater (or equal) than given one in ascending order.
+     * @param inclusive true iff equal element can be found
+     */
+    private long higherElement(long element, boolean inclusive) {
+        long bound = treeId.missingValue;
+        int node = treeId.root;
+        while (node != NIL) {
+            long current = treeId.elements[node];
+            if (element == current && inclusive) {
+                return current;
+            }
+            if (element < current) {
+                bound = current;
+                node = treeId.left[node];
+            } else {
+                node = treeId.right[node];
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Find the greatest element less (or equal) than given one in ascending order.
+     * @param inclusive true iff equal element can be found
+     */
+    private long lowerElement(long element, boolean inclusive) {
+        long bound = treeId.missingValue;
+        int node = treeId.root;
+        while (node != NIL) {
+            long current = treeId.elements[node];
+            if (element == current && inclusive) {
+                return current;
+            }
+            if (element > current) {
+                bound = current;
+                node = treeId.right[node];
+            } else {
+                node = treeId.left[node];
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Find the lowest element in the set
+     * or missing value if there is none.
+     */
+    public long first() {
+        return limitElement(!descendingOrder);
+    }
+
+    /**
+     * Find the highest element in the set
+     * or missing value if there is none.
+     */
+    public long last() {
+        return limitElement(descendingOrder);
+    }
+
+    /**
+     * Find the greatest element less than given one
+     * or missing value if there is none.
+     */
+    public long lower(long e) {
+        return descendingOrder ? higherElement(e, false) : lowerElement(e, false);
+    }
+
+    /**
+     * Find the greatest element less or equal than given one
+     * or missing value if there is none.
+     */
+    public long floor(long e) {
+        return descendingOrder ? higherElement(e, true) : lowerElement(e, true);
+    }
+
+    /**
+     * Find the smallest element greater or equal than given one
+     * or missing value if there is none.
+     */
+    public long ceiling(long e) {
+        return descendingOrder ? lowerElement(e, true) : higherElement(e, true);
+    }
+
+    /**
+     * Find the smallest element greater than given one
+     * or missing value if there is none.
+     */
+    public long higher(long e) {
+        return descendingOrder ? lowerElement(e, false) : higherElement(e, false);
+    }
+
+    /**
+     * Returns an iterator over the elements in this set in ascending order.
+     */
+    @NotNull
+    public PrimitiveIterator.OfLong iterator() {
+        return new TreeIterator();
+    }
+
+    /**
+     * Returns an iterator over the elements in this set in descending order.
+     */
+    @NotNull
+    public PrimitiveIterator.OfLong descendingIterator() {
+        return descendingSet().iterator();
+    }
+
+    /**
+     * Tree iterator keeps the path to the next node in a stack of indices.
+     */
+    private class TreeIterator implements PrimitiveIterator.OfLong {
+        private final int[] stack = new int[height(treeId.root)];
+        private int stackSize = 0;
+        /**
+         * Tree version when the iterator was constructed.
+         * Iterator is valid iff start version equals to current tree version.
+         */
+        private final int startVersion;
+
+        /**
+         * Construct iterator. Starts from the smallest element.
+         */
+        private TreeIterator() {
+            startVersion = treeId.version;
+            pushPath(treeId.root);
+        }
+
+        /**
+         * Push nodes from the node to the smallest element of its subtree.
+         */
+        private void pushPath(int node) {
+            int[] sons = descendingOrder ? treeId.right : treeId.left;
+            while (node != NIL) {
+                stack[stackSize++] = node;
+                node = sons[node];
+            }
+        }
+
+        /**
+         * Check if iterator is valid.
+         * @throws ConcurrentModificationException if set was modified.
+         */
+        private void checkValidity() throws ConcurrentModificationException {
+            if (startVersion != treeId.version) {
+                throw new ConcurrentModificationException(
+                        "Iterator is invalid because set was modified.");
+            }
+        }
+
+        /**
+         * Checks if there is next element in the set.
+         * @throws ConcurrentModificationException if set was modified.
+         */
+        @Override
+        public boolean hasNext() throws ConcurrentModificationException {
+            checkValidity();
+            return stackSize > 0;
+        }
+
+        /**
+         * Move iterator to the next element.
+         * @throws ConcurrentModificationException if set was modified.
+         * @throws NoSuchElementException if hasNext() == false
+         * @return next element
+         */
+        @Override
+        public long nextLong() throws ConcurrentModificationException, NoSuchElementException {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Next element is null.");
+            }
+            int node = stack[--stackSize];
+            pushPath(descendingOrder ? treeId.left[node] : treeId.right[node]);
+            return treeId.elements[node];
+        }
+    }
+}
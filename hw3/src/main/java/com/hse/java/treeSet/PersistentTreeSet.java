@@ -0,0 +1,529 @@
+package com.hse.java.treeSet;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Realisation of set using persistent balanced binary search tree.
+ * Nodes are never changed: adding or removing copies the O(log n) nodes on the path from the root,
+ * so snapshot() takes O(1) and snapshots can be read from other threads while the set is modified.
+ * Modifications of the set are synchronized, reading never locks.
+ * @param <E>  the type of elements maintained by this set
+ */
+public class PersistentTreeSet<E> extends AbstractSet<E> implements MyTreeSet<E> {
+    /**
+     * Immutable tree node.
+     * @param <E> the type of elements maintained by this node
+     */
+    private static final class Node<E> {
+        private final E element;
+        private final Node<E> left;
+        private final Node<E> right;
+        /**
+         * Node's height from the bottom of the tree.
+         */
+        private final int height;
+
+        private Node(@NotNull E element, @Nullable Node<E> left, @Nullable Node<E> right) {
+            this.element = element;
+            this.left = left;
+            this.right = right;
+            height = 1 + Math.max(height(left), height(right));
+        }
+
+        /**
+         * Node height in the tree.
+         * @return node height or 0 if node is null
+         */
+        private static int height(@Nullable Node<?> node) {
+            return node == null ? 0 : node.height;
+        }
+
+        /**
+         * Construct balanced node from element and subtrees
+         * which heights differ by at most two.
+         * @return root of the balanced subtree
+         */
+        @NotNull
+        private static <E> Node<E> balance(@NotNull E element, @Nullable Node<E> left, @Nullable Node<E> right) {
+            int leftHeight = height(left);
+            int rightHeight = height(right);
+            if (leftHeight > rightHeight + 1) {
+                //noinspection ConstantConditions
+                if (height(left.left) >= height(left.right)) {
+                    return new Node<>(left.element, left.left, new Node<>(element, left.right, right));
+                }
+                return new Node<>(left.right.element,
+                        new Node<>(left.element, left.left, left.right.left),
+                        new Node<>(element, left.right.right, right));
+            }
+            if (rightHeight > leftHeight + 1) {
+                //noinspection ConstantConditions
+                if (height(right.right) >= height(right.left)) {
+                    return new Node<>(right.element, new Node<>(element, left, right.left), right.right);
+                }
+                return new Node<>(right.left.element,
+                        new Node<>(element, left, right.left.left),
+                        new Node<>(right.element, right.left.right, right.right));
+            }
+            return new Node<>(element, left, right);
+        }
+    }
+
+    /**
+     * Immutable version of the tree: its root and size.
+     * Both are published by one volatile write, so readers never see a root with a size of another version.
+     * @param <E> the type of elements maintained by the tree
+     */
+    private static final class Version<E> {
+        private final Node<E> root;
+        /**
+         * The number of elements in the tree.
+         */
+        private final int size;
+
+        private Version(@Nullable Node<E> root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Storage for tree's current version and comparator.
+     * Shared with descending copy.
+     * @param <E> node type that tree contains
+     */
+    private static class TreeId<E> {
+        /**
+         * Current version. Volatile in order to publish new versions to other threads.
+         */
+        private volatile Version<E> version = new Version<>(null, 0);
+        /**
+         * Comparator for navigating in the tree and comparing elements.
+         */
+        private final Comparator<? super E> comparator;
+        /**
+         * True iff the tree is a snapshot and cannot be modified.
+         */
+        private final boolean isFrozen;
+
+        private TreeId(Comparator<? super E> comparator, boolean isFrozen) {
+            this.comparator = comparator;
+            this.isFrozen = isFrozen;
+        }
+    }
+
+    /**
+     * Contains information about current version and comparator.
+     */
+    private TreeId<E> treeId;
+
+    /**
+     * Descending set copy.
+     * It is saved in order to have only one descending copy.
+     */
+    private PersistentTreeSet<E> descendingSet;
+    /**
+     * True iff elements are sorted in a descending order.
+     */
+    private boolean descendingOrder = false;
+
+    /**
+     * Constructs empty PersistentTreeSet. Natural comparator is used.
+     * If elements cannot be compared, ClassCastException can be thrown
+     */
+    public PersistentTreeSet() {
+        treeId = new TreeId<>(null, false);
+    }
+
+    /**
+     * Constructs empty PersistentTreeSet with comparator.
+     * @param comparator comparator used for comparing set elements.
+     */
+    public PersistentTreeSet(@NotNull Comparator<? super E> comparator) {
+        treeId = new TreeId<>(comparator, false);
+    }
+
+    /**
+     * Make a read-only copy of the current version of the set in O(1).
+     * Further modifications of this set are not visible in the snapshot.
+     * @return unmodifiable set with the same order
+     */
+    @NotNull
+    public PersistentTreeSet<E> snapshot() {
+        var snapshot = new PersistentTreeSet<E>();
+        snapshot.treeId = new TreeId<>(treeId.comparator, true);
+        snapshot.treeId.version = treeId.version;
+        snapshot.descendingOrder = descendingOrder;
+        return snapshot;
+    }
+
+    /**
+     * Compare E elements using comparator if it is given.
+     * @return 0, if a == b, integer less than 0, if a < b,
+     *  integer greater than 0, if a > b
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(@NotNull Object a, @NotNull E b) {
+        if (treeId.comparator != null) {
+            return treeId.comparator.compare((E) a, b);
+        }
+        return ((Comparable<? super E>) a).compareTo(b);
+    }
+
+    /**
+     * Checks if element is included into the set.
+     * @param object object to be checked for containment in this set
+     * @throws ClassCastException if object cannot be cased to E
+     * or compared with elements correctly
+     * @return true if this set contains the specified element
+     */
+    @Override
+    public boolean contains(@NotNull Object object) throws ClassCastException {
+        var node = treeId.version.root;
+        while (node != null) {
+            int result = compare(object, node.element);
+            if (result == 0) {
+                return true;
+            }
+            node = result < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    /**
+     * Check if the set can be modified.
+     * @throws UnsupportedOperationException if the set is a snapshot
+     */
+    private void checkModifiable() throws UnsupportedOperationException {
+        if (treeId.isFrozen) {
+            throw new UnsupportedOperationException("Snapshot cannot be modified.");
+        }
+    }
+
+    /**
+     * Add element to the set.
+     * @param element element to add
+     * @throws UnsupportedOperationException if the set is a snapshot
+     * @return true if there was no such element
+     */
+    @Override
+    public boolean add(@NotNull E element) throws UnsupportedOperationException {
+        checkModifiable();
+        synchronized (treeId) {
+            var version = treeId.version;
+            var newRoot = insert(version.root, element);
+            if (newRoot == version.root) {
+                return false;
+            }
+            treeId.version = new Version<>(newRoot, version.size + 1);
+            return true;
+        }
+    }
+
+    /**
+     * Add element to the subtree copying the path.
+     * @return new subtree root or the same root if there is such element
+     */
+    @NotNull
+    private Node<E> insert(@Nullable Node<E> node, @NotNull E element) {
+        if (node == null) {
+            return new Node<>(element, null, null);
+        }
+        int result = compare(element, node.element);
+        if (result == 0) {
+            return node;
+        }
+        if (result < 0) {
+            var left = insert(node.left, element);
+            return left == node.left ? node : Node.balance(node.element, left, node.right);
+        }
+        var right = insert(node.right, element);
+        return right == node.right ? node : Node.balance(node.element, node.left, right);
+    }
+
+    /**
+     * Remove object from the set.
+     * @param object object to remove
+     * @throws ClassCastException if object cannot be casted to E
+     * @throws UnsupportedOperationException if the set is a snapshot
+     * @return true if there was such object
+     */
+    @Override
+    public boolean remove(@NotNull Object object) throws ClassCastException, UnsupportedOperationException {
+        checkModifiable();
+        synchronized (treeId) {
+            var version = treeId.version;
+            var newRoot = delete(version.root, object);
+            if (newRoot == version.root) {
+                return false;
+            }
+            treeId.version = new Version<>(newRoot, version.size - 1);
+            return true;
+        }
+    }
+
+    /**
+     * Remove object from the subtree copying the path.
+     * @return new subtree root or the same root if there is no such object
+     */
+    @Nullable
+    private Node<E> delete(@Nullable Node<E> node, @NotNull Object object) {
+        if (node == null) {
+            return null;
+        }
+        int result = compare(object, node.element);
+        if (result < 0) {
+            var left = delete(node.left, object);
+            return left == node.left ? node : Node.balance(node.element, left, node.right);
+        }
+        if (result > 0) {
+            var right = delete(node.right, object);
+            return right == node.right ? node : Node.balance(node.element, node.left, right);
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        var next = node.right;
+        while (next.left != null) {
+            next = next.left;
+        }
+        return Node.balance(next.element, node.left, deleteFirst(node.right));
+    }
+
+    /**
+     * Remove the smallest element of the subtree copying the path.
+     * @return new subtree root
+     */
+    @Nullable
+    private Node<E> deleteFirst(@NotNull Node<E> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return Node.balance(node.element, deleteFirst(node.left), node.right);
+    }
+
+    /**
+     * Returns an iterator over the elements in this set in descending order.
+     */
+    @Override
+    @NotNull
+    public Iterator<E> descendingIterator() {
+        return descendingSet().iterator();
+    }
+
+    /**
+     * Returns a reverse order view of the elements contained in this set.
+     */
+    @Override
+    @NotNull
+    public MyTreeSet<E> descendingSet() {
+        if (descendingSet == null) {
+            descendingSet = new PersistentTreeSet<>();
+            descendingSet.descendingSet = this;
+            descendingSet.descendingOrder = !descendingOrder;
+            descendingSet.treeId = treeId;
+        }
+        return descendingSet;
+    }
+
+    /**
+     * Find the leftmost or the rightmost element of the tree.
+     * @param isLeft true if the leftmost element should be found
+     */
+    @Nullable
+    private E limitElement(boolean isLeft) {
+        var node = treeId.version.root;
+        if (node == null) {
+            return null;
+        }
+        var next = isLeft ? node.left : node.right;
+        while (next != null) {
+            node = next;
+            next = isLeft ? node.left : node.right;
+        }
+        return node.element;
+    }
+
+    /**
+     * Find the smallest element greater (or equal) than given one in ascending order.
+     * @param inclusive true iff equal element can be found
+     */
+    @Nullable
+    private E higherElement(@NotNull E element, boolean inclusive) {
+        E bound = null;
+        var node = treeId.version.root;
+        while (node != null) {
+            int result = compare(element, node.element);
+            if (result == 0 && inclusive) {
+                return node.element;
+            }
+            if (result < 0) {
+                bound = node.element;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Find the greatest element less (or equal) than given one in ascending order.
+     * @param inclusive true iff equal element can be found
+     */
+    @Nullable
+    private E lowerElement(@NotNull E element, boolean inclusive) {
+        E bound = null;
+        var node = treeId.version.root;
+        while (node != null) {
+            int result = compare(element, node.element);
+            if (result == 0 && inclusive) {
+                return node.element;
+            }
+            if (result > 0) {
+                bound = node.element;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Find the lowest element in the set
+     * or null if there is none.
+     */
+    @Override
+    @Nullable
+    public E first() {
+        return limitElement(!descendingOrder);
+    }
+
+    /**
+     * Find the highest element in the set
+     * or null if there is none.
+     */
+    @Override
+    @Nullable
+    public E last() {
+        return limitElement(descendingOrder);
+    }
+
+    /**
+     * Find the greatest element less than given one.
+     * @param e element to find bound
+     * @return bound or null if none
+     */
+    @Override
+    @Nullable
+    public E lower(@NotNull E e) {
+        return descendingOrder ? higherElement(e, false) : lowerElement(e, false);
+    }
+
+    /**
+     * Find the greatest element less or equal than given one.
+     * @param e element to find bound
+     * @return bound or null if none
+     */
+    @Override
+    @Nullable
+    public E floor(@NotNull E e) {
+        return descendingOrder ? higherElement(e, true) : lowerElement(e, true);
+    }
+
+    /**
+     * Find the smallest element greater or equal than given one.
+     * @param e element to find bound
+     * @return bound or null if none
+     */
+    @Override
+    @Nullable
+    public E ceiling(@NotNull E e) {
+        return descendingOrder ? lowerElement(e, true) : higherElement(e, true);
+    }
+
+    /**
+     * Find the smallest element greater than given one.
+     * @param e element to find bound
+     * @return bound or null if none
+     */
+    @Override
+    @Nullable
+    public E higher(@NotNull E e) {
+        return descendingOrder ? lowerElement(e, false) : higherElement(e, false);
+    }
+
+    /**
+     * Returns an iterator over the elements in this set in ascending order.
+     * Iterator walks the version of the set at the moment of its construction,
+     * so it is not affected by further modifications.
+     */
+    @Override
+    @NotNull
+    public Iterator<E> iterator() {
+        return new TreeIterator();
+    }
+
+    /**
+     * Tree iterator keeps the path to the next node in the stack,
+     * as nodes have no parent links.
+     */
+    private class TreeIterator implements Iterator<E> {
+        private final ArrayDeque<Node<E>> stack = new ArrayDeque<>();
+
+        /**
+         * Construct iterator. Starts from the smallest element.
+         */
+        private TreeIterator() {
+            pushPath(treeId.version.root);
+        }
+
+        /**
+         * Push nodes from the node to the smallest element of its subtree.
+         */
+        private void pushPath(@Nullable Node<E> node) {
+            while (node != null) {
+                stack.push(node);
+                node = descendingOrder ? node.right : node.left;
+            }
+        }
+
+        /**
+         * Checks if there is next element in the set.
+         */
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        /**
+         * Move iterator to the next element.
+         * @throws NoSuchElementException if hasNext() == false
+         * @return next element
+         */
+        @Override
+        public E next() throws NoSuchElementException {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Next element is null.");
+            }
+            var node = stack.pop();
+            pushPath(descendingOrder ? node.left : node.right);
+            return node.element;
+        }
+    }
+
+    /**
+     * Returns the number of elements in this set.
+     */
+    @Override
+    public int size() {
+        return treeId.version.size;
+    }
+}
@@ -0,0 +1,25 @@
+package com.hse.java.treeSet;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BPlusTreeSetTest extends MyTreeSetContractTest {
+    @Override
+    protected MyTreeSet<Integer> createSet() {
+        return new BPlusTreeSet<>();
+    }
+
+    @Test
+    void addWithComparator() {
+        var reversed = new BPlusTreeSet<Integer>(Comparator.reverseOrder());
+        for (int i = 0; i < N; i++) {
+            reversed.add(i);
+        }
+        assertEquals(N - 1, reversed.first());
+        assertEquals(0, reversed.last());
+        assertEquals(4, reversed.higher(5));
+    }
+}
@@ -3,9 +3,14 @@ package com.hse.java.treeSet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.ConcurrentModificationException;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -612,4 +617,327 @@ class BSTSetTest {
             assertEquals(i, it11.next());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void addAndRemoveAsTreeSet() {
+        var random = new Random(1);
+        var expected = new TreeSet<Integer>();
+        for (int i = 0; i < 100 * N; i++) {
+            expected.add(i);
+            bstSet.add(i);
+        }
+        for (int i = 0; i < 1000 * N; i++) {
+            int value = random.nextInt(200 * N);
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(value), bstSet.add(value));
+            } else {
+                assertEquals(expected.remove(value), bstSet.remove(value));
+            }
+        }
+        assertEquals(expected.size(), bstSet.size());
+        assertEquals(new ArrayList<>(expected), new ArrayList<>(bstSet));
+        assertEquals(expected.first(), bstSet.first());
+        assertEquals(expected.last(), bstSet.last());
+    }
+
+    @Test
+    void rankAndSelect() {
+        for (int i = 0; i < N; i++) {
+            bstSet.add(2 * i);
+        }
+        for (int i = 0; i < N; i++) {
+            assertEquals(i, bstSet.rank(2 * i));
+            assertEquals(i + 1, bstSet.rank(2 * i + 1));
+            assertEquals(2 * i, bstSet.select(i));
+        }
+        assertEquals(0, bstSet.rank(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> bstSet.select(N));
+        assertThrows(IndexOutOfBoundsException.class, () -> bstSet.select(-1));
+    }
+
+    @Test
+    void rankAndSelectAfterRemove() {
+        for (int i = 0; i < 100 * N; i++) {
+            bstSet.add(i);
+        }
+        for (int i = 0; i < 100 * N; i += 2) {
+            bstSet.remove(i);
+        }
+        for (int i = 0; i < 50 * N; i++) {
+            assertEquals(i, bstSet.rank(2 * i + 1));
+            assertEquals(2 * i + 1, bstSet.select(i));
+        }
+    }
+
+    @Test
+    void rankAndSelectAfterRandomOperations() {
+        var random = new Random(3);
+        var expected = new TreeSet<Integer>();
+        for (int i = 0; i < 1000 * N; i++) {
+            int value = random.nextInt(100 * N);
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(value), bstSet.add(value));
+            } else {
+                assertEquals(expected.remove(value), bstSet.remove(value));
+            }
+        }
+        int i = 0;
+        for (var element : expected) {
+            assertEquals(element, bstSet.select(i));
+            assertEquals(i, bstSet.rank(element));
+            i++;
+        }
+    }
+
+    @Test
+    void rankAndSelectAfterComparatorException() {
+        var set = new BSTSet<Integer>((a, b) -> {
+            if (a < 0 || b < 0) {
+                throw new ClassCastException();
+            }
+            return Integer.compare(a, b);
+        });
+        for (int i = 0; i < 10 * N; i++) {
+            set.add(i);
+        }
+        assertThrows(ClassCastException.class, () -> set.add(-1));
+        assertThrows(ClassCastException.class, () -> set.remove(-1));
+        assertFalse(set.add(5));
+        assertFalse(set.remove(10 * N));
+        for (int i = 0; i < 10 * N; i++) {
+            assertEquals(i, set.select(i));
+        }
+    }
+
+    @Test
+    void rankAndSelectDescendingSet() {
+        for (int i = 0; i < N; i++) {
+            bstSet.add(i);
+        }
+        var descendingSet = (BSTSet<Integer>) bstSet.descendingSet();
+        for (int i = 0; i < N; i++) {
+            assertEquals(N - 1 - i, descendingSet.rank(i));
+            assertEquals(N - 1 - i, descendingSet.select(i));
+        }
+        assertEquals(N, descendingSet.rank(-1));
+    }
+
+    @Test
+    void subSetNavigation() {
+        for (int i = 0; i < N; i++) {
+            bstSet.add(2 * i);
+        }
+        var subSet = bstSet.subSet(3, 12);
+        assertEquals(4, subSet.size());
+        assertEquals(4, subSet.first());
+        assertEquals(10, subSet.last());
+        assertFalse(subSet.contains(2));
+        assertFalse(subSet.contains(12));
+        assertTrue(subSet.contains(6));
+        assertEquals(4, subSet.ceiling(0));
+        assertNull(subSet.lower(4));
+        assertEquals(10, subSet.floor(100));
+        assertNull(subSet.higher(10));
+        assertEquals(6, subSet.higher(4));
+    }
+
+    @Test
+    void subSetIterator() {
+        for (int i = 0; i < N; i++) {
+            bstSet.add(i);
+        }
+        var elements = new ArrayList<Integer>();
+        bstSet.subSet(2, true, 5, true).forEach(elements::add);
+        assertEquals(List.of(2, 3, 4, 5), elements);
+        elements.clear();
+        bstSet.subSet(2, false, 5, false).descendingIterator().forEachRemaining(elements::add);
+        assertEquals(List.of(4, 3), elements);
+        assertFalse(bstSet.subSet(20, 30).iterator().hasNext());
+    }
+
+    @Test
+    void subSetIsBackedBySet() {
+        for (int i = 0; i < N; i++) {
+            bstSet.add(2 * i);
+        }
+        var headSet = bstSet.headSet(7);
+        var tailSet = bstSet.tailSet(7);
+        assertEquals(4, headSet.size());
+        assertEquals(N - 4, tailSet.size());
+        bstSet.add(5);
+        assertEquals(5, headSet.size());
+        assertTrue(headSet.contains(5));
+        tailSet.add(7);
+        assertTrue(bstSet.contains(7));
+        assertTrue(headSet.remove(0));
+        assertFalse(headSet.remove(8));
+        assertFalse(bstSet.contains(0));
+        assertTrue(bstSet.contains(8));
+        assertThrows(IllegalArgumentException.class, () -> headSet.add(7));
+    }
+
+    @Test
+    void subSetOfSubSet() {
+        for (int i = 0; i < N; i++) {
+            bstSet.add(i);
+        }
+        var tailSet = (BSTSet<Integer>) bstSet.tailSet(3, false);
+        var subSet = (BSTSet<Integer>) tailSet.headSet(7, true);
+        assertEquals(List.of(4, 5, 6, 7), new ArrayList<>(subSet));
+        assertEquals(0, subSet.rank(2));
+        assertEquals(2, subSet.rank(6));
+        assertEquals(4, subSet.rank(9));
+        assertEquals(5, subSet.select(1));
+        assertThrows(IllegalArgumentException.class, () -> tailSet.headSet(2));
+        assertThrows(IllegalArgumentException.class, () -> bstSet.subSet(5, 4));
+    }
+
+    @Test
+    void subSetOfDescendingSet() {
+        for (int i = 0; i < N; i++) {
+            bstSet.add(i);
+        }
+        var descendingSet = (BSTSet<Integer>) bstSet.descendingSet();
+        var subSet = descendingSet.subSet(7, 3);
+        assertEquals(List.of(7, 6, 5, 4), new ArrayList<>(subSet));
+        assertEquals(7, subSet.first());
+        assertEquals(4, subSet.last());
+        assertEquals(6, subSet.higher(7));
+        assertEquals(4, subSet.lower(2));
+        assertNull(subSet.lower(8));
+        assertEquals(List.of(4, 5, 6, 7), new ArrayList<>(subSet.descendingSet()));
+        assertEquals(List.of(9, 8), new ArrayList<>(descendingSet.headSet(7)));
+        assertEquals(List.of(2, 1, 0), new ArrayList<>(descendingSet.tailSet(2)));
+    }
+
+    @Test
+    void constructFromSortedCollection() {
+        var elements = new ArrayList<Integer>();
+        for (int i = 0; i < 100 * N; i++) {
+            elements.add(i);
+            elements.add(i);
+        }
+        var set = new BSTSet<>(elements);
+        assertEquals(100 * N, set.size());
+        assertEquals(0, set.first());
+        assertEquals(100 * N - 1, set.last());
+        assertEquals(500, set.select(500));
+        assertTrue(set.remove(500));
+        assertTrue(set.add(-1));
+        assertEquals(-1, set.first());
+    }
+
+    @Test
+    void addAllMergesSortedCollection() {
+        for (int i = 0; i < N; i += 2) {
+            bstSet.add(i);
+        }
+        assertTrue(bstSet.addAll(List.of(1, 2, 3, 20, 21)));
+        assertEquals(List.of(0, 1, 2, 3, 4, 6, 8, 20, 21), new ArrayList<>(bstSet));
+        assertFalse(bstSet.addAll(List.of(0, 1, 2)));
+        assertTrue(bstSet.addAll(List.of(30, 25, 5)));
+        assertEquals(12, bstSet.size());
+        assertThrows(IllegalArgumentException.class, () -> bstSet.addAll(Arrays.asList(1, null)));
+    }
+
+    @Test
+    void addAllToDescendingSet() {
+        var descendingSet = bstSet.descendingSet();
+        descendingSet.addAll(List.of(5, 4, 3, 2, 1));
+        assertEquals(List.of(1, 2, 3, 4, 5), new ArrayList<>(bstSet));
+        assertEquals(List.of(5, 4, 3, 2, 1), new ArrayList<>(descendingSet));
+    }
+
+    @Test
+    void unionIntersectionDifference() {
+        for (int i = 0; i < N; i++) {
+            bstSet.add(i);
+        }
+        var other = new BSTSet<Integer>(Comparator.reverseOrder());
+        for (int i = N / 2; i < 2 * N; i++) {
+            other.add(i);
+        }
+        var union = bstSet.union(other);
+        var intersection = bstSet.intersection(other);
+        var difference = bstSet.difference(other);
+        assertEquals(2 * N, union.size());
+        assertEquals(0, union.first());
+        assertEquals(2 * N - 1, union.last());
+        assertEquals(List.of(5, 6, 7, 8, 9), new ArrayList<>(intersection));
+        assertEquals(List.of(0, 1, 2, 3, 4), new ArrayList<>(difference));
+        assertEquals(List.of(5, 6), new ArrayList<>(((BSTSet<Integer>) bstSet.headSet(7)).intersection(other)));
+        assertEquals(0, bstSet.difference(bstSet).size());
+        union.add(-1);
+        assertFalse(bstSet.contains(-1));
+    }
+
+    @Test
+    void split() {
+        for (int i = 0; i < N; i++) {
+            bstSet.add(i);
+        }
+        var greater = bstSet.split(4);
+        assertEquals(List.of(0, 1, 2, 3), new ArrayList<>(bstSet));
+        assertEquals(List.of(4, 5, 6, 7, 8, 9), new ArrayList<>(greater));
+        assertEquals(4, bstSet.size());
+        assertEquals(6, greater.size());
+        assertEquals(5, greater.select(1));
+        assertEquals(0, bstSet.split(20).size());
+        assertEquals(6, greater.split(-1).size());
+        assertEquals(0, greater.size());
+        greater.add(-1);
+        assertFalse(bstSet.contains(-1));
+    }
+
+    @Test
+    void splitDescendingSet() {
+        for (int i = 0; i < N; i++) {
+            bstSet.add(i);
+        }
+        var descendingSet = (BSTSet<Integer>) bstSet.descendingSet();
+        var rest = descendingSet.split(4);
+        assertEquals(List.of(9, 8, 7, 6, 5), new ArrayList<>(descendingSet));
+        assertEquals(List.of(5, 6, 7, 8, 9), new ArrayList<>(bstSet));
+        assertEquals(List.of(4, 3, 2, 1, 0), new ArrayList<>(rest));
+        assertEquals(4, rest.first());
+    }
+
+    @Test
+    void splitAndJoinAsTreeSet() {
+        var random = new Random(3);
+        var expected = new TreeSet<Integer>();
+        for (int i = 0; i < 1000 * N; i++) {
+            int value = random.nextInt(2000 * N);
+            bstSet.add(value);
+            expected.add(value);
+        }
+        for (int cutoff = 0; cutoff < 2000 * N; cutoff += 1000) {
+            var greater = bstSet.split(cutoff);
+            assertEquals(new ArrayList<>(expected.headSet(cutoff)), new ArrayList<>(bstSet));
+            assertEquals(new ArrayList<>(expected.tailSet(cutoff)), new ArrayList<>(greater));
+            greater.join(bstSet);
+            assertEquals(0, bstSet.size());
+            bstSet.join(greater);
+            assertEquals(expected.size(), bstSet.size());
+            assertEquals(new ArrayList<>(expected), new ArrayList<>(bstSet));
+        }
+    }
+
+    @Test
+    void joinOverlappingSets() {
+        bstSet.add(1);
+        bstSet.add(5);
+        var other = new BSTSet<Integer>();
+        other.add(3);
+        assertThrows(IllegalArgumentException.class, () -> bstSet.join(other));
+        assertThrows(IllegalArgumentException.class, () -> bstSet.join(bstSet));
+        assertThrows(IllegalArgumentException.class,
+                () -> bstSet.join(new BSTSet<>(Comparator.reverseOrder())));
+        assertThrows(UnsupportedOperationException.class, () -> ((BSTSet<Integer>) bstSet.headSet(3)).split(2));
+        other.remove(3);
+        other.add(7);
+        bstSet.join(other);
+        assertEquals(List.of(1, 5, 7), new ArrayList<>(bstSet));
+        assertEquals(0, other.size());
+    }
+}
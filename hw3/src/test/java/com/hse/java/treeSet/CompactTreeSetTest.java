@@ -0,0 +1,61 @@
+package com.hse.java.treeSet;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactTreeSetTest extends MyTreeSetContractTest {
+    @Override
+    protected MyTreeSet<Integer> createSet() {
+        return new CompactTreeSet<>();
+    }
+
+    @Test
+    void nullElement() {
+        assertThrows(IllegalArgumentException.class, () -> set.add(null));
+        assertThrows(IllegalArgumentException.class, () -> set.contains(null));
+        assertThrows(IllegalArgumentException.class, () -> set.remove(null));
+    }
+
+    @Test
+    void addWithComparator() {
+        var reversed = new CompactTreeSet<Integer>(Comparator.reverseOrder());
+        for (int i = 0; i < N; i++) {
+            reversed.add(i);
+        }
+        assertEquals(N - 1, reversed.first());
+        assertEquals(0, reversed.last());
+        assertEquals(4, reversed.higher(5));
+    }
+
+    @Test
+    void sequentialIteratorsAndGrowth() {
+        for (int i = 0; i < N; i++) {
+            set.add(i);
+            if (i % 1000 == 0) {
+                int count = 0;
+                for (int value : set) {
+                    assertEquals(count++, value);
+                }
+                assertEquals(i + 1, count);
+            }
+        }
+    }
+
+    @Test
+    void interleavedIterators() {
+        for (int i = 0; i < 100; i++) {
+            set.add(i);
+        }
+        var first = set.iterator();
+        var second = set.iterator();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, first.next());
+            assertEquals(i, second.next());
+        }
+        assertFalse(first.hasNext());
+        assertFalse(second.hasNext());
+    }
+}
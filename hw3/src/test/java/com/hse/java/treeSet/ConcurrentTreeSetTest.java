@@ -0,0 +1,113 @@
+package com.hse.java.treeSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentTreeSetTest {
+    private ConcurrentTreeSet<Integer> set;
+    private final int N = 10000;
+
+    @BeforeEach
+    void setUp() {
+        set = new ConcurrentTreeSet<>();
+    }
+
+    @Test
+    void emptySet() {
+        assertEquals(0, set.size());
+        assertTrue(set.isEmpty());
+        assertNull(set.first());
+        assertNull(set.last());
+        assertNull(set.lower(1));
+        assertFalse(set.iterator().hasNext());
+    }
+
+    @Test
+    void isEmptyAfterRemovingAll() {
+        set.add(1);
+        set.add(2);
+        assertFalse(set.isEmpty());
+        set.remove(1);
+        assertFalse(set.isEmpty());
+        set.remove(2);
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    void navigation() {
+        for (int i = 0; i < 10; i += 2) {
+            set.add(i);
+        }
+        assertEquals(0, set.first());
+        assertEquals(8, set.last());
+        assertEquals(2, set.lower(3));
+        assertEquals(4, set.floor(4));
+        assertEquals(4, set.ceiling(3));
+        assertEquals(6, set.higher(4));
+        assertNull(set.higher(8));
+    }
+
+    @Test
+    void descendingSet() {
+        for (int i = 0; i < 5; i++) {
+            set.add(i);
+        }
+        var descendingSet = set.descendingSet();
+        assertEquals(List.of(4, 3, 2, 1, 0), new ArrayList<>(descendingSet));
+        assertEquals(4, descendingSet.first());
+        assertEquals(3, descendingSet.higher(4));
+        assertSame(set, descendingSet.descendingSet());
+        descendingSet.remove(4);
+        assertEquals(3, set.last());
+    }
+
+    @Test
+    void comparator() {
+        var reversed = new ConcurrentTreeSet<Integer>(Comparator.reverseOrder());
+        reversed.add(1);
+        reversed.add(2);
+        assertEquals(2, reversed.first());
+        assertEquals(List.of(1, 2), new ArrayList<>(reversed.descendingSet()));
+    }
+
+    @Test
+    void iteratorIsWeaklyConsistent() {
+        set.add(1);
+        set.add(2);
+        var iterator = set.iterator();
+        set.add(3);
+        assertEquals(1, iterator.next());
+    }
+
+    @Test
+    void concurrentAddAndRemove() throws InterruptedException {
+        final int threadNumber = 8;
+        var threads = new Thread[threadNumber];
+        for (int t = 0; t < threadNumber; t++) {
+            final int shift = t;
+            threads[t] = new Thread(() -> {
+                for (int i = shift; i < N * threadNumber; i += threadNumber) {
+                    set.add(i);
+                }
+                for (int i = shift; i < N * threadNumber; i += 2 * threadNumber) {
+                    set.remove(i);
+                }
+            });
+        }
+        for (var thread : threads) {
+            thread.start();
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+        assertEquals(N * threadNumber / 2, set.size());
+        assertEquals(threadNumber, set.first());
+        assertFalse(set.contains(0));
+    }
+}
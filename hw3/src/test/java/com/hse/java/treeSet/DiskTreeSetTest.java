@@ -0,0 +1,264 @@
+package com.hse.java.treeSet;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiskTreeSetTest {
+    private DiskTreeSet<Long> set;
+    private Path file;
+    private final int N = 10000;
+
+    /**
+     * Codec writing longs to 1000 bytes, so a page contains only four keys.
+     */
+    private static final DiskTreeSet.Codec<Long> WIDE_CODEC = new DiskTreeSet.Codec<>() {
+        @Override
+        public int size() {
+            return 1000;
+        }
+
+        @Override
+        public void write(@NotNull Long element, @NotNull ByteBuffer buffer) {
+            buffer.putLong(element);
+        }
+
+        @Override
+        @NotNull
+        public Long read(@NotNull ByteBuffer buffer) {
+            return buffer.getLong();
+        }
+    };
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = directory.resolve("set.db");
+        set = new DiskTreeSet<>(file, DiskTreeSet.LONG_CODEC, 4);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        set.close();
+    }
+
+    @Test
+    void emptySet() {
+        assertEquals(0, set.size());
+        assertFalse(set.contains(1L));
+        assertNull(set.first());
+        assertNull(set.last());
+        assertNull(set.lower(1L));
+        assertNull(set.ceiling(1L));
+        assertFalse(set.iterator().hasNext());
+        assertFalse(set.descendingIterator().hasNext());
+    }
+
+    @Test
+    void randomOperationsAsTreeSet() {
+        var random = new Random(1);
+        var expected = new TreeSet<Long>();
+        for (int i = 0; i < 10 * N; i++) {
+            long value = random.nextInt(N);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), set.remove(value));
+            } else {
+                assertEquals(expected.add(value), set.add(value));
+            }
+        }
+        assertEquals(expected.size(), set.size());
+        assertEquals(new ArrayList<>(expected), new ArrayList<>(set));
+        for (long value = -1; value <= N; value++) {
+            assertEquals(expected.lower(value), set.lower(value));
+            assertEquals(expected.floor(value), set.floor(value));
+            assertEquals(expected.ceiling(value), set.ceiling(value));
+            assertEquals(expected.higher(value), set.higher(value));
+        }
+    }
+
+    @Test
+    void smallPagesAsTreeSet() throws IOException {
+        var random = new Random(2);
+        var expected = new TreeSet<Long>();
+        try (var wide = new DiskTreeSet<>(directory.resolve("wide.db"), WIDE_CODEC, 2)) {
+            for (int i = 0; i < N; i++) {
+                long value = random.nextInt(N / 10);
+                if (random.nextBoolean()) {
+                    assertEquals(expected.remove(value), wide.remove(value));
+                } else {
+                    assertEquals(expected.add(value), wide.add(value));
+                }
+            }
+            assertEquals(new ArrayList<>(expected), new ArrayList<>(wide));
+            var descending = new ArrayList<Long>();
+            wide.descendingIterator().forEachRemaining(descending::add);
+            assertEquals(new ArrayList<>(expected.descendingSet()), descending);
+            for (var value : new ArrayList<>(expected)) {
+                assertTrue(wide.remove(value));
+            }
+            assertEquals(0, wide.size());
+            assertNull(wide.first());
+        }
+    }
+
+    @Test
+    void reopenKeepsElements() throws IOException {
+        for (long i = 0; i < N; i++) {
+            set.add(i * 2);
+        }
+        set.close();
+        set = new DiskTreeSet<>(file, DiskTreeSet.LONG_CODEC, 4);
+        assertEquals(N, set.size());
+        assertTrue(set.contains(2L * (N - 1)));
+        assertFalse(set.contains(1L));
+        assertEquals(0, set.first());
+        assertEquals(4, set.higher(2L));
+        assertEquals(N, new ArrayList<>(set).size());
+    }
+
+    @Test
+    void freedPagesAreReused() throws IOException {
+        for (long i = 0; i < N; i++) {
+            set.add(i);
+        }
+        set.flush();
+        long fileSize = Files.size(file);
+        for (long i = 0; i < N; i++) {
+            set.remove(i);
+        }
+        for (long i = 0; i < N; i++) {
+            set.add(i);
+        }
+        set.flush();
+        assertEquals(fileSize, Files.size(file));
+    }
+
+    @Test
+    void clear() throws IOException {
+        for (long i = 0; i < N; i++) {
+            set.add(i);
+        }
+        set.clear();
+        assertEquals(0, set.size());
+        assertFalse(set.contains(0L));
+        set.add(3L);
+        assertEquals(3, set.first());
+        set.flush();
+        assertEquals(2 * DiskTreeSet.PAGE_SIZE, Files.size(file));
+    }
+
+    @Test
+    void openWithOtherElementSize() throws IOException {
+        set.flush();
+        assertThrows(IOException.class, () -> new DiskTreeSet<>(file, DiskTreeSet.INTEGER_CODEC, 4));
+    }
+
+    @Test
+    void wrongArguments() {
+        var other = directory.resolve("other.db");
+        assertThrows(IllegalArgumentException.class, () -> new DiskTreeSet<>(other, DiskTreeSet.LONG_CODEC, 0));
+        var huge = new DiskTreeSet.Codec<Long>() {
+            @Override
+            public int size() {
+                return DiskTreeSet.PAGE_SIZE;
+            }
+
+            @Override
+            public void write(@NotNull Long element, @NotNull ByteBuffer buffer) {
+            }
+
+            @Override
+            @NotNull
+            public Long read(@NotNull ByteBuffer buffer) {
+                return 0L;
+            }
+        };
+        assertThrows(IllegalArgumentException.class, () -> new DiskTreeSet<>(other, huge, 4));
+    }
+
+    @Test
+    void descendingSetWithComparator() throws IOException {
+        try (var reversed = new DiskTreeSet<>(directory.resolve("reversed.db"),
+                DiskTreeSet.INTEGER_CODEC, 4, Comparator.reverseOrder())) {
+            for (int i = 0; i < N; i++) {
+                reversed.add(i);
+            }
+            assertEquals(N - 1, reversed.first());
+            assertEquals(4, reversed.higher(5));
+            var descending = reversed.descendingSet();
+            assertEquals(0, descending.first());
+            assertEquals(6, descending.higher(5));
+            assertSame(reversed, descending.descendingSet());
+            descending.remove(0);
+            assertFalse(reversed.contains(0));
+        }
+    }
+
+    @Test
+    void failedWriteKeepsSizeAndElements() throws IOException {
+        var isFailing = new boolean[1];
+        var failingCodec = new DiskTreeSet.Codec<Long>() {
+            @Override
+            public int size() {
+                return Long.BYTES;
+            }
+
+            @Override
+            public void write(@NotNull Long element, @NotNull ByteBuffer buffer) {
+                if (isFailing[0]) {
+                    throw new IllegalStateException("Write failed.");
+                }
+                buffer.putLong(element);
+            }
+
+            @Override
+            @NotNull
+            public Long read(@NotNull ByteBuffer buffer) {
+                return buffer.getLong();
+            }
+        };
+        try (var failing = new DiskTreeSet<>(directory.resolve("failing.db"), failingCodec, 2)) {
+            for (long i = 0; i < N; i++) {
+                failing.add(i);
+            }
+            isFailing[0] = true;
+            assertThrows(IllegalStateException.class, () -> {
+                for (long i = 0; i < N; i++) {
+                    failing.remove(i);
+                }
+            });
+            isFailing[0] = false;
+            var elements = new ArrayList<>(failing);
+            assertEquals(elements.size(), failing.size());
+            assertFalse(failing.contains(elements.get(0) - 1));
+            assertEquals(N - 1, elements.get(elements.size() - 1));
+        }
+    }
+
+    @Test
+    void iteratorInvalidation() {
+        set.add(1L);
+        set.add(2L);
+        var iterator = set.iterator();
+        set.add(3L);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
+    @Test
+    void iteratorWithoutNextException() {
+        var iterator = set.iterator();
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+}
@@ -0,0 +1,113 @@
+package com.hse.java.treeSet;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntTreeSetTest extends TreeSetContractTest<IntTreeSet> {
+    @Override
+    protected IntTreeSet createSet() {
+        return new IntTreeSet();
+    }
+
+    /** Convert the missing value of the set to null. */
+    private static Integer orNull(IntTreeSet set, int value) {
+        return value == set.getMissingValue() ? null : value;
+    }
+
+    @Override
+    protected boolean add(IntTreeSet set, int element) {
+        return set.add(element);
+    }
+
+    @Override
+    protected boolean remove(IntTreeSet set, int element) {
+        return set.remove(element);
+    }
+
+    @Override
+    protected boolean contains(IntTreeSet set, int element) {
+        return set.contains(element);
+    }
+
+    @Override
+    protected int size(IntTreeSet set) {
+        return set.size();
+    }
+
+    @Override
+    protected Integer first(IntTreeSet set) {
+        return orNull(set, set.first());
+    }
+
+    @Override
+    protected Integer last(IntTreeSet set) {
+        return orNull(set, set.last());
+    }
+
+    @Override
+    protected Integer lower(IntTreeSet set, int element) {
+        return orNull(set, set.lower(element));
+    }
+
+    @Override
+    protected Integer floor(IntTreeSet set, int element) {
+        return orNull(set, set.floor(element));
+    }
+
+    @Override
+    protected Integer ceiling(IntTreeSet set, int element) {
+        return orNull(set, set.ceiling(element));
+    }
+
+    @Override
+    protected Integer higher(IntTreeSet set, int element) {
+        return orNull(set, set.higher(element));
+    }
+
+    @Override
+    protected IntTreeSet descendingSet(IntTreeSet set) {
+        return set.descendingSet();
+    }
+
+    @Override
+    protected Iterator<Integer> iterator(IntTreeSet set) {
+        return set.iterator();
+    }
+
+    @Override
+    protected Iterator<Integer> descendingIterator(IntTreeSet set) {
+        return set.descendingIterator();
+    }
+
+    @Test
+    void emptyPrimitiveSet() {
+        assertTrue(set.isEmpty());
+        assertEquals(Integer.MIN_VALUE, set.first());
+        assertFalse(set.iterator().hasNext());
+    }
+
+    @Test
+    void customMissingValue() {
+        var other = new IntTreeSet(-1);
+        assertEquals(-1, other.getMissingValue());
+        assertEquals(-1, other.first());
+        other.add(5);
+        assertEquals(-1, other.higher(5));
+        assertEquals(-1, other.descendingSet().higher(0));
+    }
+
+    @Test
+    void clear() {
+        for (int i = 0; i < N; i++) {
+            set.add(i);
+        }
+        set.clear();
+        assertEquals(0, set.size());
+        assertFalse(set.contains(0));
+        assertTrue(set.add(3));
+        assertEquals(3, set.first());
+    }
+}
@@ -0,0 +1,127 @@
+package com.hse.java.treeSet;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongTreeSetTest extends TreeSetContractTest<LongTreeSet> {
+    @Override
+    protected LongTreeSet createSet() {
+        return new LongTreeSet();
+    }
+
+    /** Convert the missing value of the set to null. */
+    private static Integer orNull(LongTreeSet set, long value) {
+        return value == set.getMissingValue() ? null : (int) value;
+    }
+
+    @Override
+    protected boolean add(LongTreeSet set, int element) {
+        return set.add(element);
+    }
+
+    @Override
+    protected boolean remove(LongTreeSet set, int element) {
+        return set.remove(element);
+    }
+
+    @Override
+    protected boolean contains(LongTreeSet set, int element) {
+        return set.contains(element);
+    }
+
+    @Override
+    protected int size(LongTreeSet set) {
+        return set.size();
+    }
+
+    @Override
+    protected Integer first(LongTreeSet set) {
+        return orNull(set, set.first());
+    }
+
+    @Override
+    protected Integer last(LongTreeSet set) {
+        return orNull(set, set.last());
+    }
+
+    @Override
+    protected Integer lower(LongTreeSet set, int element) {
+        return orNull(set, set.lower(element));
+    }
+
+    @Override
+    protected Integer floor(LongTreeSet set, int element) {
+        return orNull(set, set.floor(element));
+    }
+
+    @Override
+    protected Integer ceiling(LongTreeSet set, int element) {
+        return orNull(set, set.ceiling(element));
+    }
+
+    @Override
+    protected Integer higher(LongTreeSet set, int element) {
+        return orNull(set, set.higher(element));
+    }
+
+    @Override
+    protected LongTreeSet descendingSet(LongTreeSet set) {
+        return set.descendingSet();
+    }
+
+    @Override
+    protected Iterator<Long> iterator(LongTreeSet set) {
+        return set.iterator();
+    }
+
+    @Override
+    protected Iterator<Long> descendingIterator(LongTreeSet set) {
+        return set.descendingIterator();
+    }
+
+    @Test
+    void emptyPrimitiveSet() {
+        assertTrue(set.isEmpty());
+        assertEquals(Long.MIN_VALUE, set.first());
+        assertFalse(set.iterator().hasNext());
+    }
+
+    @Test
+    void customMissingValue() {
+        var other = new LongTreeSet(-1);
+        assertEquals(-1, other.getMissingValue());
+        assertEquals(-1, other.first());
+        other.add(5);
+        assertEquals(-1, other.higher(5));
+        assertEquals(-1, other.descendingSet().higher(0));
+    }
+
+    @Test
+    void addBeyondIntRange() {
+        for (int i = 0; i < N; i++) {
+            assertTrue(set.add((i * 7919L) % N + Integer.MAX_VALUE));
+        }
+        assertFalse(set.add(Integer.MAX_VALUE));
+        assertEquals(N, set.size());
+        for (int i = 0; i < N; i++) {
+            assertTrue(set.contains(i + (long) Integer.MAX_VALUE));
+        }
+        assertFalse(set.contains(0));
+        assertFalse(set.contains(N + (long) Integer.MAX_VALUE));
+    }
+
+    @Test
+    void clear() {
+        for (int i = 0; i < N; i++) {
+            set.add(i);
+        }
+        set.clear();
+        assertEquals(0, set.size());
+        assertFalse(set.contains(0));
+        assertTrue(set.add(3));
+        assertEquals(3, set.first());
+    }
+}
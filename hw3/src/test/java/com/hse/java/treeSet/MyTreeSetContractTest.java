@@ -0,0 +1,71 @@
+package com.hse.java.treeSet;
+
+import java.util.Iterator;
+
+/** Tests of the shared contract for the implementations of MyTreeSet. */
+abstract class MyTreeSetContractTest extends TreeSetContractTest<MyTreeSet<Integer>> {
+    @Override
+    protected boolean add(MyTreeSet<Integer> set, int element) {
+        return set.add(element);
+    }
+
+    @Override
+    protected boolean remove(MyTreeSet<Integer> set, int element) {
+        return set.remove(element);
+    }
+
+    @Override
+    protected boolean contains(MyTreeSet<Integer> set, int element) {
+        return set.contains(element);
+    }
+
+    @Override
+    protected int size(MyTreeSet<Integer> set) {
+        return set.size();
+    }
+
+    @Override
+    protected Integer first(MyTreeSet<Integer> set) {
+        return set.first();
+    }
+
+    @Override
+    protected Integer last(MyTreeSet<Integer> set) {
+        return set.last();
+    }
+
+    @Override
+    protected Integer lower(MyTreeSet<Integer> set, int element) {
+        return set.lower(element);
+    }
+
+    @Override
+    protected Integer floor(MyTreeSet<Integer> set, int element) {
+        return set.floor(element);
+    }
+
+    @Override
+    protected Integer ceiling(MyTreeSet<Integer> set, int element) {
+        return set.ceiling(element);
+    }
+
+    @Override
+    protected Integer higher(MyTreeSet<Integer> set, int element) {
+        return set.higher(element);
+    }
+
+    @Override
+    protected MyTreeSet<Integer> descendingSet(MyTreeSet<Integer> set) {
+        return set.descendingSet();
+    }
+
+    @Override
+    protected Iterator<Integer> iterator(MyTreeSet<Integer> set) {
+        return set.iterator();
+    }
+
+    @Override
+    protected Iterator<Integer> descendingIterator(MyTreeSet<Integer> set) {
+        return set.descendingIterator();
+    }
+}
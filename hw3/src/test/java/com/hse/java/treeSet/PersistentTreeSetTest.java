@@ -0,0 +1,152 @@
+package com.hse.java.treeSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentTreeSetTest {
+    private PersistentTreeSet<Integer> set;
+    private final int N = 10000;
+
+    @BeforeEach
+    void setUp() {
+        set = new PersistentTreeSet<>();
+    }
+
+    @Test
+    void emptySet() {
+        assertEquals(0, set.size());
+        assertFalse(set.contains(1));
+        assertNull(set.first());
+        assertNull(set.last());
+        assertNull(set.ceiling(1));
+        assertFalse(set.iterator().hasNext());
+    }
+
+    @Test
+    void randomOperationsAsTreeSet() {
+        var random = new Random(1);
+        var expected = new TreeSet<Integer>();
+        for (int i = 0; i < 10 * N; i++) {
+            int value = random.nextInt(N);
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(value), set.add(value));
+            } else {
+                assertEquals(expected.remove(value), set.remove(value));
+            }
+        }
+        assertEquals(expected.size(), set.size());
+        assertEquals(new ArrayList<>(expected), new ArrayList<>(set));
+        for (int value = -1; value <= N; value++) {
+            assertEquals(expected.lower(value), set.lower(value));
+            assertEquals(expected.floor(value), set.floor(value));
+            assertEquals(expected.ceiling(value), set.ceiling(value));
+            assertEquals(expected.higher(value), set.higher(value));
+        }
+    }
+
+    @Test
+    void descendingSet() {
+        for (int i = 0; i < 5; i++) {
+            set.add(i);
+        }
+        var descendingSet = set.descendingSet();
+        assertEquals(List.of(4, 3, 2, 1, 0), new ArrayList<>(descendingSet));
+        assertEquals(4, descendingSet.first());
+        assertEquals(0, descendingSet.last());
+        assertEquals(3, descendingSet.higher(4));
+        assertEquals(2, descendingSet.lower(1));
+        assertSame(set, descendingSet.descendingSet());
+        descendingSet.remove(4);
+        assertEquals(3, set.last());
+    }
+
+    @Test
+    void snapshotIsNotChanged() {
+        for (int i = 0; i < N; i++) {
+            set.add(i);
+        }
+        var snapshot = set.snapshot();
+        for (int i = 0; i < N; i += 2) {
+            set.remove(i);
+        }
+        set.add(-1);
+        assertEquals(N, snapshot.size());
+        assertEquals(N / 2 + 1, set.size());
+        assertTrue(snapshot.contains(0));
+        assertFalse(snapshot.contains(-1));
+        assertEquals(0, snapshot.first());
+        int expected = 0;
+        for (int element : snapshot) {
+            assertEquals(expected++, element);
+        }
+        assertEquals(N - 1, snapshot.descendingIterator().next());
+    }
+
+    @Test
+    void snapshotCannotBeModified() {
+        set.add(1);
+        var snapshot = set.snapshot();
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(2));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.remove(1));
+    }
+
+    @Test
+    void iteratorIsNotAffectedByModification() {
+        set.add(1);
+        set.add(2);
+        var iterator = set.iterator();
+        set.remove(2);
+        set.add(0);
+        assertEquals(1, iterator.next());
+        assertEquals(2, iterator.next());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void readSnapshotWhileWriting() throws InterruptedException {
+        for (int i = 0; i < N; i++) {
+            set.add(i);
+        }
+        var snapshot = set.snapshot();
+        var writer = new Thread(() -> {
+            for (int i = 0; i < N; i++) {
+                set.remove(i);
+                set.add(N + i);
+            }
+        });
+        writer.start();
+        long sum = 0;
+        for (int element : snapshot) {
+            sum += element;
+        }
+        writer.join();
+        assertEquals((long) N * (N - 1) / 2, sum);
+        assertEquals(N, set.first());
+    }
+
+    @Test
+    void snapshotSizeMatchesElementsWhileWriting() throws InterruptedException {
+        var writer = new Thread(() -> {
+            for (int i = 0; i < N; i++) {
+                set.add(i);
+                if (i % 3 == 0) {
+                    set.remove(i / 2);
+                }
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            var snapshot = set.snapshot();
+            int count = 0;
+            for (int ignored : snapshot) {
+                count++;
+            }
+            assertEquals(count, snapshot.size());
+        }
+        writer.join();
+    }
+}
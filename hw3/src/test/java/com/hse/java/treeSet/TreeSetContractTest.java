@@ -0,0 +1,170 @@
+package com.hse.java.treeSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the navigable set contract shared by the tree sets.
+ * Sets are accessed through the methods below, so the primitive sets
+ * are tested as well, a missing element is seen as null.
+ * @param <S> type of the set
+ */
+abstract class TreeSetContractTest<S> {
+    protected S set;
+    protected final int N = 10000;
+
+    @BeforeEach
+    void setUpSet() {
+        set = createSet();
+    }
+
+    protected abstract S createSet();
+
+    protected abstract boolean add(S set, int element);
+
+    protected abstract boolean remove(S set, int element);
+
+    protected abstract boolean contains(S set, int element);
+
+    protected abstract int size(S set);
+
+    protected abstract Integer first(S set);
+
+    protected abstract Integer last(S set);
+
+    protected abstract Integer lower(S set, int element);
+
+    protected abstract Integer floor(S set, int element);
+
+    protected abstract Integer ceiling(S set, int element);
+
+    protected abstract Integer higher(S set, int element);
+
+    protected abstract S descendingSet(S set);
+
+    protected abstract Iterator<? extends Number> iterator(S set);
+
+    protected abstract Iterator<? extends Number> descendingIterator(S set);
+
+    private static List<Integer> toList(Iterator<? extends Number> iterator) {
+        var list = new ArrayList<Integer>();
+        iterator.forEachRemaining(value -> list.add(value.intValue()));
+        return list;
+    }
+
+    @Test
+    void emptySet() {
+        assertEquals(0, size(set));
+        assertFalse(contains(set, 1));
+        assertNull(first(set));
+        assertNull(last(set));
+        assertNull(lower(set, 1));
+        assertNull(ceiling(set, 1));
+        assertFalse(iterator(set).hasNext());
+        assertFalse(descendingIterator(set).hasNext());
+    }
+
+    @Test
+    void addAndContains() {
+        for (int i = 0; i < N; i++) {
+            assertTrue(add(set, (i * 7919) % N - N));
+        }
+        assertFalse(add(set, -N));
+        assertEquals(N, size(set));
+        for (int i = 0; i < N; i++) {
+            assertTrue(contains(set, i - N));
+        }
+        assertFalse(contains(set, -N - 1));
+        assertFalse(contains(set, 0));
+    }
+
+    @Test
+    void iteratorIsSorted() {
+        var random = new Random(1);
+        var expected = new TreeSet<Integer>();
+        for (int i = 0; i < N; i++) {
+            int value = random.nextInt();
+            add(set, value);
+            expected.add(value);
+        }
+        assertEquals(new ArrayList<>(expected), toList(iterator(set)));
+        assertEquals(new ArrayList<>(expected.descendingSet()), toList(descendingIterator(set)));
+    }
+
+    @Test
+    void randomOperationsAsTreeSet() {
+        var random = new Random(2);
+        var expected = new TreeSet<Integer>();
+        for (int i = 0; i < 20 * N; i++) {
+            int value = random.nextInt(N);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), remove(set, value));
+            } else {
+                assertEquals(expected.add(value), add(set, value));
+            }
+        }
+        assertEquals(expected.size(), size(set));
+        assertEquals(new ArrayList<>(expected), toList(iterator(set)));
+        for (int value = -1; value <= N; value++) {
+            assertEquals(expected.contains(value), contains(set, value));
+            assertEquals(expected.lower(value), lower(set, value));
+            assertEquals(expected.floor(value), floor(set, value));
+            assertEquals(expected.ceiling(value), ceiling(set, value));
+            assertEquals(expected.higher(value), higher(set, value));
+        }
+    }
+
+    @Test
+    void removeAll() {
+        for (int i = 0; i < N; i++) {
+            add(set, i);
+        }
+        for (int i = 0; i < N; i++) {
+            assertTrue(remove(set, i));
+            assertFalse(remove(set, i));
+        }
+        assertEquals(0, size(set));
+        assertNull(first(set));
+        assertFalse(iterator(set).hasNext());
+        add(set, 1);
+        assertEquals(1, first(set));
+        assertEquals(1, last(set));
+    }
+
+    @Test
+    void descendingSetNavigation() {
+        for (int i = 0; i < N; i += 2) {
+            add(set, i);
+        }
+        var descending = descendingSet(set);
+        assertEquals(N - 2, first(descending));
+        assertEquals(0, last(descending));
+        assertEquals(8, lower(descending, 7));
+        assertEquals(8, floor(descending, 8));
+        assertEquals(6, ceiling(descending, 7));
+        assertEquals(6, higher(descending, 8));
+        assertSame(set, descendingSet(descending));
+        remove(descending, 0);
+        assertFalse(contains(set, 0));
+        assertEquals(2, first(set));
+    }
+
+    @Test
+    void iteratorInvalidation() {
+        add(set, 1);
+        add(set, 2);
+        var iterator = iterator(set);
+        add(set, 3);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
+    @Test
+    void iteratorWithoutNextException() {
+        var iterator = iterator(set);
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+}
@@ -0,0 +1,35 @@
+package com.hse.java.treeSet.benchmark;
+
+import com.hse.java.treeSet.BSTSet;
+
+import java.util.Arrays;
+import java.util.TreeSet;
+
+import static com.hse.java.treeSet.benchmark.Benchmark.*;
+
+/**
+ * Application comparing BSTSet with java.util.TreeSet on random and ascending keys.
+ * Ascending keys rebalance the tree on most insertions.
+ */
+public class BSTSetBenchmark {
+    private static final int DEFAULT_ELEMENTS = 1_000_000;
+
+    /**
+     * Main function.
+     * @param args args[0] can contain the number of elements, one million by default
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ELEMENTS;
+        var randomKeys = randomKeys(count, 1);
+        var ascendingKeys = randomKeys.clone();
+        Arrays.sort(ascendingKeys);
+
+        System.out.printf("Elements: %d%n", count);
+        printSetHeader();
+        measureSet("BSTSet random", BSTSet::new, randomKeys);
+        measureSet("TreeSet random", TreeSet::new, randomKeys);
+        measureSet("BSTSet ascending", BSTSet::new, ascendingKeys);
+        measureSet("TreeSet ascending", TreeSet::new, ascendingKeys);
+        System.out.println("checksum " + checksum);
+    }
+}
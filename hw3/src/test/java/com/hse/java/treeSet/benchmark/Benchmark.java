@@ -0,0 +1,100 @@
+package com.hse.java.treeSet.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Measurements shared by the tree set benchmark applications.
+ * Times are the best of several rounds, so warm-up and garbage collection pauses are mostly excluded.
+ */
+final class Benchmark {
+    static final int ROUNDS = 5;
+
+    /**
+     * Sum of read elements, printed so reads are not eliminated.
+     */
+    static long checksum = 0;
+
+    private Benchmark() { }
+
+    /**
+     * Different keys in random order, boxed in advance so boxing is not measured.
+     */
+    static Long[] randomKeys(int count, long seed) {
+        var keys = new Long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = (long) i;
+        }
+        var random = new Random(seed);
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            var tmp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = tmp;
+        }
+        return keys;
+    }
+
+    static void printSetHeader() {
+        System.out.printf("%-24s %12s %12s %12s %12s %14s%n",
+                "set", "add ms", "contains ms", "iterate ms", "remove ms", "allocated B/el");
+    }
+
+    /**
+     * Print the best time of adding all the keys to a new set, looking them up,
+     * iterating over the set and removing them, and bytes allocated while adding.
+     */
+    static void measureSet(String name, Supplier<? extends Set<Long>> factory, Long[] keys) {
+        long addTime = Long.MAX_VALUE;
+        long containsTime = Long.MAX_VALUE;
+        long iterateTime = Long.MAX_VALUE;
+        long removeTime = Long.MAX_VALUE;
+        long allocated = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            var set = factory.get();
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            for (var key : keys) {
+                set.add(key);
+            }
+            addTime = Math.min(addTime, System.nanoTime() - start);
+            allocated = Math.min(allocated, allocatedBytes() - allocatedBefore);
+
+            start = System.nanoTime();
+            for (var key : keys) {
+                if (set.contains(key)) {
+                    checksum++;
+                }
+            }
+            containsTime = Math.min(containsTime, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (var element : set) {
+                checksum += element;
+            }
+            iterateTime = Math.min(iterateTime, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (var key : keys) {
+                set.remove(key);
+            }
+            removeTime = Math.min(removeTime, System.nanoTime() - start);
+        }
+        System.out.printf("%-24s %12.1f %12.1f %12.1f %12.1f %14s%n", name,
+                addTime / 1e6, containsTime / 1e6, iterateTime / 1e6, removeTime / 1e6,
+                allocatedBytes() < 0 ? "n/a" : String.format("%.1f", (double) allocated / keys.length));
+    }
+
+    /**
+     * Bytes allocated by the current thread or -1 if the JVM does not count them.
+     */
+    static long allocatedBytes() {
+        var bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,71 @@
+package com.hse.java.treeSet.benchmark;
+
+import com.hse.java.treeSet.BSTSet;
+import com.hse.java.treeSet.CompactTreeSet;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static com.hse.java.treeSet.benchmark.Benchmark.*;
+
+/**
+ * Application comparing throughput of CompactTreeSet with BSTSet and java.util.TreeSet.
+ * Iteration is measured over many small sets too,
+ * as this is where reusing the iterator stack matters.
+ */
+public class CompactTreeSetBenchmark {
+    private static final int DEFAULT_ELEMENTS = 1_000_000;
+    private static final int SMALL_SET_SIZE = 16;
+
+    /**
+     * Main function.
+     * @param args args[0] can contain the number of elements, one million by default
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ELEMENTS;
+        var randomKeys = randomKeys(count, 1);
+        var ascendingKeys = randomKeys.clone();
+        Arrays.sort(ascendingKeys);
+
+        System.out.printf("Elements: %d%n", count);
+        printSetHeader();
+        measureSet("CompactTreeSet random", CompactTreeSet::new, randomKeys);
+        measureSet("BSTSet random", BSTSet::new, randomKeys);
+        measureSet("TreeSet random", TreeSet::new, randomKeys);
+        measureSet("CompactTreeSet ascending", CompactTreeSet::new, ascendingKeys);
+        measureSet("BSTSet ascending", BSTSet::new, ascendingKeys);
+        measureSet("TreeSet ascending", TreeSet::new, ascendingKeys);
+
+        System.out.println();
+        System.out.printf("Iterating a set of %d elements %d times:%n", SMALL_SET_SIZE, count);
+        iterateSmall("CompactTreeSet", new CompactTreeSet<>(), count);
+        iterateSmall("BSTSet", new BSTSet<>(), count);
+        iterateSmall("TreeSet", new TreeSet<>(), count);
+        System.out.println("checksum " + checksum);
+    }
+
+    /**
+     * Print the best time and bytes allocated per iteration over a small set.
+     */
+    private static void iterateSmall(String name, Set<Long> set, int times) {
+        for (long i = 0; i < SMALL_SET_SIZE; i++) {
+            set.add(i);
+        }
+        long bestTime = Long.MAX_VALUE;
+        long allocated = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < times; i++) {
+                for (var element : set) {
+                    checksum += element;
+                }
+            }
+            bestTime = Math.min(bestTime, System.nanoTime() - start);
+            allocated = Math.min(allocated, allocatedBytes() - allocatedBefore);
+        }
+        System.out.printf("%-24s %12.1f ms %14s B/iteration%n", name, bestTime / 1e6,
+                allocatedBytes() < 0 ? "n/a" : String.format("%.1f", (double) allocated / times));
+    }
+}
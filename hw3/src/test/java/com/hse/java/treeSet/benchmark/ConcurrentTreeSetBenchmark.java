@@ -0,0 +1,89 @@
+package com.hse.java.treeSet.benchmark;
+
+import com.hse.java.treeSet.BSTSet;
+import com.hse.java.treeSet.ConcurrentTreeSet;
+
+import java.util.Collections;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+/**
+ * Application comparing ConcurrentTreeSet with BSTSet guarded by a single lock
+ * when several threads use the set at the same time.
+ * Every thread does 80% lookups, 10% insertions and 10% removals of random keys,
+ * so the set size stays about a half of the key range.
+ */
+public class ConcurrentTreeSetBenchmark {
+    private static final int KEYS = 100_000;
+    private static final int OPERATIONS_PER_THREAD = 1_000_000;
+    private static final int[] DEFAULT_THREADS = {1, 2, 4, 8, 16};
+
+    /**
+     * Main function.
+     * @param args numbers of threads to measure, 1, 2, 4, 8 and 16 by default
+     */
+    public static void main(String[] args) throws InterruptedException {
+        var threadNumbers = DEFAULT_THREADS;
+        if (args.length > 0) {
+            threadNumbers = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                threadNumbers[i] = Integer.parseInt(args[i]);
+            }
+        }
+        System.out.printf("Keys: %d, operations per thread: %d, processors: %d%n",
+                KEYS, OPERATIONS_PER_THREAD, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-8s %22s %22s%n", "threads", "ConcurrentTreeSet op/ms", "synchronized op/ms");
+        for (int threads : threadNumbers) {
+            double concurrent = throughput(ConcurrentTreeSet::new, threads);
+            double synchronizedSet = throughput(() -> Collections.synchronizedSet(new BSTSet<>()), threads);
+            System.out.printf("%-8d %22.1f %22.1f%n", threads, concurrent, synchronizedSet);
+        }
+    }
+
+    /**
+     * Best throughput of several rounds in operations per millisecond.
+     */
+    private static double throughput(Supplier<Set<Integer>> factory, int threads) throws InterruptedException {
+        long bestTime = Long.MAX_VALUE;
+        for (int round = 0; round < Benchmark.ROUNDS; round++) {
+            var set = factory.get();
+            for (int key = 0; key < KEYS; key += 2) {
+                set.add(key);
+            }
+            var start = new CountDownLatch(1);
+            var workers = new Thread[threads];
+            for (int i = 0; i < threads; i++) {
+                long seed = i;
+                workers[i] = new Thread(() -> {
+                    var random = new Random(seed);
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < OPERATIONS_PER_THREAD; j++) {
+                        int key = random.nextInt(KEYS);
+                        int operation = random.nextInt(10);
+                        if (operation == 0) {
+                            set.add(key);
+                        } else if (operation == 1) {
+                            set.remove(key);
+                        } else {
+                            set.contains(key);
+                        }
+                    }
+                });
+                workers[i].start();
+            }
+            long startTime = System.nanoTime();
+            start.countDown();
+            for (var worker : workers) {
+                worker.join();
+            }
+            bestTime = Math.min(bestTime, System.nanoTime() - startTime);
+        }
+        return (double) threads * OPERATIONS_PER_THREAD / (bestTime / 1e6);
+    }
+}
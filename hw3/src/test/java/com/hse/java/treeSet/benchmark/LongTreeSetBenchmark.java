@@ -0,0 +1,129 @@
+package com.hse.java.treeSet.benchmark;
+
+import com.hse.java.treeSet.BSTSet;
+import com.hse.java.treeSet.LongTreeSet;
+
+import java.util.TreeSet;
+
+import static com.hse.java.treeSet.benchmark.Benchmark.*;
+
+/**
+ * Application comparing allocation rate and speed of LongTreeSet with BSTSet and TreeSet of boxed longs.
+ * Keys are primitive longs for LongTreeSet and are boxed by the loop for the other sets,
+ * as it happens in code storing primitive values in a generic set.
+ */
+public class LongTreeSetBenchmark {
+    private static final int DEFAULT_ELEMENTS = 1_000_000;
+
+    /**
+     * Main function.
+     * @param args args[0] can contain the number of elements, one million by default
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ELEMENTS;
+        var boxedKeys = randomKeys(count, 1);
+        var keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            // Spread keys out of the Long cache, so boxing really allocates.
+            keys[i] = boxedKeys[i] * 1024;
+        }
+
+        System.out.printf("Elements: %d%n", count);
+        System.out.printf("%-12s %12s %12s %12s %16s %16s%n",
+                "set", "add ms", "contains ms", "remove ms", "add alloc B/el", "read alloc B/el");
+        measureLongTreeSet(keys);
+        measureBoxed("BSTSet", keys, true);
+        measureBoxed("TreeSet", keys, false);
+        System.out.println("checksum " + checksum);
+    }
+
+    /**
+     * Print times of adding, looking up and removing all the keys,
+     * and bytes allocated while adding and while looking up and iterating.
+     */
+    private static void measureLongTreeSet(long[] keys) {
+        long addTime = Long.MAX_VALUE;
+        long containsTime = Long.MAX_VALUE;
+        long removeTime = Long.MAX_VALUE;
+        long addAllocated = Long.MAX_VALUE;
+        long readAllocated = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            var set = new LongTreeSet();
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            for (long key : keys) {
+                set.add(key);
+            }
+            addTime = Math.min(addTime, System.nanoTime() - start);
+            addAllocated = Math.min(addAllocated, allocatedBytes() - allocatedBefore);
+
+            allocatedBefore = allocatedBytes();
+            start = System.nanoTime();
+            for (long key : keys) {
+                if (set.contains(key)) {
+                    checksum++;
+                }
+            }
+            containsTime = Math.min(containsTime, System.nanoTime() - start);
+            var iterator = set.iterator();
+            while (iterator.hasNext()) {
+                checksum += iterator.nextLong();
+            }
+            readAllocated = Math.min(readAllocated, allocatedBytes() - allocatedBefore);
+
+            start = System.nanoTime();
+            for (long key : keys) {
+                set.remove(key);
+            }
+            removeTime = Math.min(removeTime, System.nanoTime() - start);
+        }
+        print("LongTreeSet", keys.length, addTime, containsTime, removeTime, addAllocated, readAllocated);
+    }
+
+    private static void measureBoxed(String name, long[] keys, boolean isBSTSet) {
+        long addTime = Long.MAX_VALUE;
+        long containsTime = Long.MAX_VALUE;
+        long removeTime = Long.MAX_VALUE;
+        long addAllocated = Long.MAX_VALUE;
+        long readAllocated = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            var set = isBSTSet ? new BSTSet<Long>() : new TreeSet<Long>();
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            for (long key : keys) {
+                set.add(key);
+            }
+            addTime = Math.min(addTime, System.nanoTime() - start);
+            addAllocated = Math.min(addAllocated, allocatedBytes() - allocatedBefore);
+
+            allocatedBefore = allocatedBytes();
+            start = System.nanoTime();
+            for (long key : keys) {
+                if (set.contains(key)) {
+                    checksum++;
+                }
+            }
+            containsTime = Math.min(containsTime, System.nanoTime() - start);
+            for (long element : set) {
+                checksum += element;
+            }
+            readAllocated = Math.min(readAllocated, allocatedBytes() - allocatedBefore);
+
+            start = System.nanoTime();
+            for (long key : keys) {
+                set.remove(key);
+            }
+            removeTime = Math.min(removeTime, System.nanoTime() - start);
+        }
+        print(name, keys.length, addTime, containsTime, removeTime, addAllocated, readAllocated);
+    }
+
+    private static void print(String name, int count, long addTime, long containsTime, long removeTime,
+                              long addAllocated, long readAllocated) {
+        boolean isCounted = allocatedBytes() >= 0;
+        System.out.printf("%-12s %12.1f %12.1f %12.1f %16s %16s%n", name,
+                addTime / 1e6, containsTime / 1e6, removeTime / 1e6,
+                isCounted ? String.format("%.1f", (double) addAllocated / count) : "n/a",
+                isCounted ? String.format("%.1f", (double) readAllocated / count) : "n/a");
+    }
+}
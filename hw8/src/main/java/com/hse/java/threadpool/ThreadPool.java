@@ -3,61 +3,103 @@ package com.hse.java.threadpool;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
  * ThreadPool implementation provides ability to execute
  * parallel tasks with fixed number of threads.
+ * Tasks are kept in a lock-free queue, idle workers are parked
+ * and the submitting thread unparks one of them only if no worker is searching for tasks,
+ * so neither submitting nor taking a task acquires a monitor
+ * and a stream of tasks does not unpark a worker per task.
+ * In work-stealing mode every worker has its own deque:
+ * tasks submitted by a worker, including then apply tasks, are pushed to its deque
+ * and taken back in LIFO order, idle workers steal the oldest tasks of the others.
+ * A task waiting for a LightFuture in work-stealing mode executes other tasks meanwhile,
+ * so recursive tasks waiting for their subtasks do not block the pool.
+ * These tasks run on the stack of the waiting task and hold all its monitors and locks,
+ * so reentrant locks do not exclude them from the waiting task.
  */
 public class ThreadPool {
+    /** Number of attempts to take a task before a worker registers as idle. */
+    private static final int SEARCH_ATTEMPTS = 16;
+
+    /** Mask of the index part of idleTop. */
+    private static final long INDEX_MASK = 0xFFFFFFFFL;
+
+    /** Added to idleTop on every change, so a stale top is never accepted by compareAndSet. */
+    private static final long VERSION_UNIT = 1L << 32;
+
     /** Array of working threads. */
-    private final Thread[] threads;
+    private final Worker[] threads;
 
     /** Queue of tasks to execute. */
-    private final Queue<Task> tasks = new LinkedList<>();
+    private final Queue<Task<?>> tasks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Top of the stack of idle workers linked through Worker.nextIdle.
+     * The low half is the index of the top worker plus one or zero if the stack is empty,
+     * the high half is a version.
+     */
+    private final AtomicLong idleTop = new AtomicLong(0);
+
+    /**
+     * Number of workers searching for a task, including workers just woken up.
+     * Submitters do not wake up workers while it is positive,
+     * because a searching worker checks the queues again before it parks.
+     */
+    private final AtomicInteger searchingWorkers = new AtomicInteger(0);
+
+    /**
+     * Number of tasks that are queued or running.
+     * Then apply tasks are submitted by a running task,
+     * so the counter does not fall to zero while some task may be still submitted.
+     */
+    private final AtomicInteger pendingTasks = new AtomicInteger(0);
 
     /** Flag shows if thread pool work should be terminated. */
     private final AtomicBoolean isTerminated = new AtomicBoolean(false);
 
+    /** Flag shows if tasks submitted by workers go to their own deques. */
+    private final boolean isWorkStealing;
+
     /**
      * Thread pool constructor.
      * @param numberOfThreads the number of working threads. Should be at least one.
      * @throws IllegalArgumentException if numberOfThreads <= 0
      */
     public ThreadPool(int numberOfThreads) throws IllegalArgumentException {
+        this(numberOfThreads, false);
+    }
+
+    /**
+     * Thread pool constructor.
+     * @param numberOfThreads the number of working threads. Should be at least one.
+     * @param isWorkStealing if true, tasks submitted from working threads
+     * are executed by the same thread unless other threads steal them
+     * @throws IllegalArgumentException if numberOfThreads <= 0
+     */
+    public ThreadPool(int numberOfThreads, boolean isWorkStealing) throws IllegalArgumentException {
         if (numberOfThreads <= 0) {
             throw new IllegalArgumentException("Number of threads should be at lest one.");
         }
-        threads = new Thread[numberOfThreads];
-
-        Runnable workingCycle = () -> {
-            Task<?> task;
-            while (!isTerminated.get() || !tasks.isEmpty()) {
-                synchronized (tasks) {
-                    if (isTerminated.get() && tasks.isEmpty()) {
-                        return;
-                    }
-                    while (tasks.isEmpty()) {
-                        try {
-                            tasks.wait();
-                        } catch (InterruptedException e) {
-                            return;
-                        }
-                    }
-                    task = tasks.poll();
-                }
-                task.run();
-            }
-        };
-
+        this.isWorkStealing = isWorkStealing;
+        threads = new Worker[numberOfThreads];
         for (int i = 0; i < threads.length; i++) {
-            threads[i] = new Thread(workingCycle);
-            threads[i].start();
+            threads[i] = new Worker(i);
+        }
+        for (var thread : threads) {
+            thread.start();
         }
     }
 
@@ -71,29 +113,109 @@ public class ThreadPool {
      */
     @NotNull
     public <T> LightFuture<T> submit(@NotNull Supplier<T> supplier) throws IllegalStateException {
-        synchronized (isTerminated) {
-            if (isTerminated.get()) {
-                throw new IllegalStateException("Task submitting had been terminated.");
-            }
-            var future = new LightFuture<T>();
-            var task = new Task<>(supplier, future);
-            synchronized (tasks) {
-                tasks.add(task);
-                tasks.notify();
-            }
-            return future;
+        // The task is counted before the check, so workers cannot finish
+        // between the check and adding the task.
+        pendingTasks.incrementAndGet();
+        if (isTerminated.get()) {
+            finishTask();
+            throw new IllegalStateException("Task submitting had been terminated.");
         }
+        var future = new LightFuture<T>();
+        enqueue(new Task<>(supplier, future));
+        return future;
     }
 
     /**
      * Submit a task without creating.
+     * It is called by a running task, so it is allowed after shutdown.
      * @param task task to submit
      */
     private void submit(@NotNull Task<?> task) {
-        synchronized (tasks) {
+        pendingTasks.incrementAndGet();
+        enqueue(task);
+    }
+
+    /**
+     * Add a counted task to the queue and wake up an idle worker.
+     * In work-stealing mode a task submitted by a worker is added to its deque.
+     */
+    private void enqueue(@NotNull Task<?> task) {
+        var worker = isWorkStealing ? currentWorker() : null;
+        if (worker != null) {
+            worker.localTasks.push(task);
+        } else {
             tasks.add(task);
-            tasks.notify();
         }
+        wakeUpIdleWorker();
+    }
+
+    /**
+     * Unpark an idle worker if no worker is searching for tasks.
+     * The woken worker is counted as searching before it is unparked,
+     * so concurrent submitters do not wake up other workers.
+     * Entries of workers that have taken a task by themselves are dropped.
+     */
+    private void wakeUpIdleWorker() {
+        if (searchingWorkers.get() != 0 || (idleTop.get() & INDEX_MASK) == 0
+                || !searchingWorkers.compareAndSet(0, 1)) {
+            return;
+        }
+        Worker worker;
+        while ((worker = popIdleWorker()) != null) {
+            if (worker.wakeUp()) {
+                return;
+            }
+        }
+        searchingWorkers.decrementAndGet();
+    }
+
+    /** Push the worker to the stack of idle workers. */
+    private void pushIdleWorker(@NotNull Worker worker) {
+        long top;
+        do {
+            top = idleTop.get();
+            worker.nextIdle = (int) (top & INDEX_MASK);
+        } while (!idleTop.compareAndSet(top, ((top & ~INDEX_MASK) + VERSION_UNIT) | (worker.index + 1)));
+    }
+
+    /** Pop a worker from the stack of idle workers or return null if it is empty. */
+    private Worker popIdleWorker() {
+        while (true) {
+            long top = idleTop.get();
+            int index = (int) (top & INDEX_MASK) - 1;
+            if (index < 0) {
+                return null;
+            }
+            var worker = threads[index];
+            // nextIdle is written before the worker is pushed, a value changed by a later push
+            // is never used, because the push changes the version.
+            if (idleTop.compareAndSet(top, ((top & ~INDEX_MASK) + VERSION_UNIT) | worker.nextIdle)) {
+                return worker;
+            }
+        }
+    }
+
+    /** Uncount a task, the last task after shutdown wakes up all the workers to exit. */
+    private void finishTask() {
+        if (pendingTasks.decrementAndGet() == 0 && isTerminated.get()) {
+            for (var thread : threads) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    /** Return the worker of this pool running in the current thread or null. */
+    private Worker currentWorker() {
+        var thread = Thread.currentThread();
+        if (thread instanceof Worker && ((Worker) thread).getPool() == this) {
+            return (Worker) thread;
+        }
+        return null;
+    }
+
+    /** Return true iff shutdown() was called and all the tasks are done. */
+    private boolean isFinished() {
+        return isTerminated.get() && pendingTasks.get() == 0;
     }
 
     /**
@@ -103,20 +225,181 @@ public class ThreadPool {
      * @throws InterruptedException if waiting is interrupted
      */
     public void shutdown() throws InterruptedException {
-        synchronized (isTerminated) {
-            isTerminated.set(true);
+        isTerminated.set(true);
+
+        for (var thread : threads) {
+            LockSupport.unpark(thread);
         }
 
         for (var thread : threads) {
-            thread.interrupt();
+            thread.join();
+        }
+    }
+
+    /** Working thread taking tasks from the queue. */
+    private class Worker extends Thread {
+        /** The worker is not in the stack of idle workers. */
+        private static final int ACTIVE = 0;
+
+        /** The worker is in the stack of idle workers and is parked or going to park. */
+        private static final int IDLE = 1;
+
+        /** The worker has taken a task by itself, but its entry is still in the stack of idle workers. */
+        private static final int CANCELLED = 2;
+
+        /** Index of the worker in the array of threads. */
+        private final int index;
+
+        /** Tasks submitted by this worker in work-stealing mode, the newest is first. */
+        private final Deque<Task<?>> localTasks = new ConcurrentLinkedDeque<>();
+
+        /**
+         * One of ACTIVE, IDLE and CANCELLED.
+         * The worker is in the stack of idle workers iff the state is not ACTIVE,
+         * only the thread that has popped the worker sets it to ACTIVE.
+         */
+        private final AtomicInteger idleState = new AtomicInteger(ACTIVE);
+
+        /** Index plus one of the next worker in the stack of idle workers or zero. */
+        private int nextIdle;
+
+        private Worker(int index) {
+            this.index = index;
         }
 
-        synchronized (tasks) {
-            tasks.notifyAll();
+        private ThreadPool getPool() {
+            return ThreadPool.this;
         }
 
-        for (var thread : threads) {
-            thread.join();
+        /**
+         * Take a task from the own deque, then from the shared queue,
+         * then the oldest task from the deque of another worker.
+         * @return the task or null if all the queues seem empty
+         */
+        private Task<?> takeTask() {
+            var task = localTasks.poll();
+            if (task == null) {
+                task = tasks.poll();
+            }
+            for (int i = 1; task == null && i < threads.length; i++) {
+                task = threads[(index + i) % threads.length].localTasks.pollLast();
+            }
+            return task;
+        }
+
+        /** Return true iff some queue contains a task. */
+        private boolean hasTasks() {
+            if (!tasks.isEmpty()) {
+                return true;
+            }
+            for (var thread : threads) {
+                if (!thread.localTasks.isEmpty()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Take tasks while there are any, then search for a task a few more times
+         * and park until a submitter wakes the worker up.
+         * A searching worker is counted in searchingWorkers, when the last searching worker
+         * takes a task while other tasks are queued, it wakes up another worker.
+         */
+        @Override
+        public void run() {
+            boolean isSearching = false;
+            while (true) {
+                var task = takeTask();
+                if (task == null) {
+                    if (!isSearching) {
+                        isSearching = true;
+                        searchingWorkers.incrementAndGet();
+                    }
+                    task = search();
+                }
+                if (task != null) {
+                    if (isSearching) {
+                        isSearching = false;
+                        if (searchingWorkers.decrementAndGet() == 0 && hasTasks()) {
+                            wakeUpIdleWorker();
+                        }
+                    }
+                    runTask(task);
+                    continue;
+                }
+                if (isFinished()) {
+                    return;
+                }
+                if (!idleState.compareAndSet(CANCELLED, IDLE)) {
+                    idleState.set(IDLE);
+                    pushIdleWorker(this);
+                }
+                searchingWorkers.decrementAndGet();
+                // A task added before the worker stopped searching is checked here,
+                // a task added after that unparks the worker.
+                if ((hasTasks() || isFinished()) && idleState.compareAndSet(IDLE, CANCELLED)) {
+                    searchingWorkers.incrementAndGet();
+                    continue;
+                }
+                while (idleState.get() == IDLE && !isFinished()) {
+                    LockSupport.park(this);
+                }
+                // The thread that has woken the worker up has counted it as searching.
+            }
+        }
+
+        /** Try to take a task several times letting other threads add one. */
+        private Task<?> search() {
+            for (int i = 0; i < SEARCH_ATTEMPTS; i++) {
+                Thread.yield();
+                var task = takeTask();
+                if (task != null) {
+                    return task;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Unpark the popped worker if it is still idle.
+         * @return false if the worker has taken a task by itself and dropped its entry
+         */
+        private boolean wakeUp() {
+            while (true) {
+                if (idleState.compareAndSet(IDLE, ACTIVE)) {
+                    LockSupport.unpark(this);
+                    return true;
+                }
+                if (idleState.compareAndSet(CANCELLED, ACTIVE)) {
+                    return false;
+                }
+            }
+        }
+
+        private void runTask(@NotNull Task<?> task) {
+            try {
+                task.run();
+            } finally {
+                finishTask();
+            }
+        }
+
+        /**
+         * Run other tasks while the future is not ready.
+         * Called when a task waits for another task, so the awaited task,
+         * usually the last one pushed to the own deque, is not blocked by the waiting worker.
+         * Returns when the future is ready or there are no tasks to take,
+         * then the awaited task is already executed by another worker.
+         */
+        private void helpUntilReady(@NotNull LightFuture<?> future) {
+            while (!future.isReady()) {
+                var task = takeTask();
+                if (task == null) {
+                    return;
+                }
+                runTask(task);
+            }
         }
     }
 
@@ -154,7 +437,10 @@ public class ThreadPool {
                     future.isReady.set(true);
                     future.submitThenApplyTasks();
                 }
-                future.notify();
+                // Notifying a monitor nobody waits on is not free, so it is done only if needed.
+                if (future.hasWaiters) {
+                    future.notifyAll();
+                }
             }
         }
     }
@@ -174,8 +460,11 @@ public class ThreadPool {
         /** Exception that occurs while task execution. */
         private RuntimeException exception;
 
-        /** List of then apply tasks. */
-        private List<Task<?>> taskList = new ArrayList<>();
+        /** True iff a thread has waited for the result, guarded by the monitor of the future. */
+        private boolean hasWaiters;
+
+        /** List of then apply tasks, created by the first of them. */
+        private List<Task<?>> taskList;
 
         /** Return true iff task is executed. */
         public boolean isReady() {
@@ -184,14 +473,22 @@ public class ThreadPool {
 
         /**
          * Get the result when is ready.
+         * If it is called by a task of a work-stealing pool, the worker executes other tasks while waiting,
+         * so tasks waiting for the tasks they submitted do not block all the workers.
+         * Such tasks hold the monitors and locks held by the caller.
          * @return task execution result
          * @throws LightExecutionException if an exception occurs
          * while task execution.
          */
         public T get() throws LightExecutionException {
+            var worker = isWorkStealing ? currentWorker() : null;
+            if (worker != null) {
+                worker.helpUntilReady(this);
+            }
             while (!isReady.get()) {
                 synchronized (this) {
                     if (!isReady.get()) {
+                        hasWaiters = true;
                         try {
                             wait();
                         } catch (InterruptedException ignored) { }
@@ -227,6 +524,9 @@ public class ThreadPool {
                     return submit(supplier);
                 }
                 var future = new LightFuture<R>();
+                if (taskList == null) {
+                    taskList = new ArrayList<>();
+                }
                 taskList.add(new Task<>(supplier, future));
                 return future;
             }
@@ -234,6 +534,9 @@ public class ThreadPool {
 
         /** Submit all the tasks waiting for this task end. */
         private void submitThenApplyTasks() {
+            if (taskList == null) {
+                return;
+            }
             for (var task : taskList) {
                 submit(task);
             }
@@ -5,6 +5,7 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.function.Supplier;
 
@@ -238,6 +239,179 @@ class ThreadPoolTest {
         assertTrue(future.isReady());
     }
 
+    @Test
+    void concurrentSubmitTest() throws ThreadPool.LightExecutionException, InterruptedException {
+        var submitters = new Thread[THREAD_NUMBER];
+        var futures = new ArrayList<List<ThreadPool.LightFuture<Integer>>>();
+        for (int i = 0; i < submitters.length; i++) {
+            var submitted = new ArrayList<ThreadPool.LightFuture<Integer>>();
+            futures.add(submitted);
+            submitters[i] = new Thread(() -> {
+                for (int j = 0; j < LENGTH / 10; j++) {
+                    int value = j;
+                    submitted.add(threadPool.submit(() -> value));
+                }
+            });
+            submitters[i].start();
+        }
+        for (var submitter : submitters) {
+            submitter.join();
+        }
+        threadPool.shutdown();
+        for (var submitted : futures) {
+            for (int j = 0; j < submitted.size(); j++) {
+                assertEquals(j, submitted.get(j).get());
+            }
+        }
+    }
+
+    @Test
+    void submitDuringShutdownTest() throws InterruptedException {
+        var submitted = Collections.synchronizedList(new ArrayList<ThreadPool.LightFuture<Integer>>());
+        var submitter = new Thread(() -> {
+            try {
+                while (true) {
+                    submitted.add(threadPool.submit(() -> 0));
+                }
+            } catch (IllegalStateException ignored) { }
+        });
+        submitter.start();
+        while (submitted.size() < 1000) {
+            Thread.yield();
+        }
+        threadPool.shutdown();
+        submitter.join();
+        for (var future : submitted) {
+            assertTrue(future.isReady());
+        }
+    }
+
+    @Test
+    void thenApplyAfterShutdownTest() throws ThreadPool.LightExecutionException, InterruptedException {
+        var future = threadPool.submit(() -> {
+            //noinspection StatementWithEmptyBody
+            for (int i = 0; i < LENGTH; i++);
+            return 1;
+        });
+        var applied = future;
+        for (int i = 0; i < 100; i++) {
+            applied = applied.thenApply(x -> x + 1);
+        }
+        threadPool.shutdown();
+        assertTrue(applied.isReady());
+        assertEquals(101, applied.get());
+    }
+
+    @Test
+    void wakeUpStressTest() {
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            threadPool.shutdown();
+            for (int round = 0; round < 1000; round++) {
+                var pool = new ThreadPool(THREAD_NUMBER);
+                var parents = new ArrayList<ThreadPool.LightFuture<Integer>>();
+                // Every parent waits for its child, one worker is always free to run the children.
+                for (int i = 0; i < THREAD_NUMBER - 1; i++) {
+                    parents.add(pool.submit(() -> {
+                        var child = pool.submit(() -> 1);
+                        while (!child.isReady()) {
+                            Thread.yield();
+                        }
+                        return 1;
+                    }));
+                }
+                for (var parent : parents) {
+                    assertEquals(1, parent.get());
+                }
+                pool.shutdown();
+            }
+        });
+    }
+
+    @Test
+    void workStealingSubmitTest() throws ThreadPool.LightExecutionException, InterruptedException {
+        threadPool.shutdown();
+        threadPool = new ThreadPool(THREAD_NUMBER, true);
+        var futures = new ArrayList<ThreadPool.LightFuture<List<Integer>>>();
+        for (var supplier : listTasks) {
+            futures.add(threadPool.submit(supplier));
+        }
+        var applyFutures = new ArrayList<ThreadPool.LightFuture<Boolean>>();
+        for (var future : futures.subList(0, TASK_NUMBER)) {
+            applyFutures.add(future.thenApply(ThreadPoolTest::isSorted));
+        }
+        threadPool.shutdown();
+        for (var future : applyFutures) {
+            assertTrue(future.get());
+        }
+    }
+
+    @Test
+    void workStealingNestedSubmitTest() throws ThreadPool.LightExecutionException, InterruptedException {
+        threadPool.shutdown();
+        threadPool = new ThreadPool(THREAD_NUMBER, true);
+        var nested = Collections.synchronizedList(new ArrayList<ThreadPool.LightFuture<Integer>>());
+        var threadNames = Collections.synchronizedSet(new HashSet<String>());
+        threadPool.submit(() -> {
+            for (int i = 0; i < 100; i++) {
+                int value = i;
+                nested.add(threadPool.submit(() -> {
+                    threadNames.add(Thread.currentThread().getName());
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException ignored) { }
+                    return value;
+                }));
+            }
+            return 0;
+        });
+        while (nested.size() < 100) {
+            Thread.yield();
+        }
+        threadPool.shutdown();
+        for (int i = 0; i < nested.size(); i++) {
+            assertEquals(i, nested.get(i).get());
+        }
+        assertTrue(threadNames.size() > 1);
+    }
+
+    @Test
+    void workStealingThenApplyAfterShutdownTest() throws ThreadPool.LightExecutionException, InterruptedException {
+        threadPool.shutdown();
+        threadPool = new ThreadPool(1, true);
+        var applied = threadPool.submit(() -> 1);
+        for (int i = 0; i < 100; i++) {
+            applied = applied.thenApply(x -> x + 1);
+        }
+        threadPool.shutdown();
+        assertEquals(101, applied.get());
+    }
+
+    @Test
+    void workStealingRecursiveGetTest() {
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            threadPool.shutdown();
+            threadPool = new ThreadPool(THREAD_NUMBER, true);
+            assertEquals(610, threadPool.submit(() -> fibonacci(threadPool, 15)).get());
+            threadPool.shutdown();
+        });
+    }
+
+    /**
+     * Fibonacci number computed by submitting one half of the recursion and waiting for it.
+     */
+    private static int fibonacci(ThreadPool pool, int n) {
+        if (n < 2) {
+            return n;
+        }
+        var left = pool.submit(() -> fibonacci(pool, n - 1));
+        int right = fibonacci(pool, n - 2);
+        try {
+            return left.get() + right;
+        } catch (ThreadPool.LightExecutionException e) {
+            throw (RuntimeException) e.getSuppressed()[0];
+        }
+    }
+
     @Contract(pure = true)
     private static <T extends Comparable<? super T>> boolean isSorted(@NotNull List<T> list) {
         T previous = null;
@@ -0,0 +1,203 @@
+package com.hse.java.threadpool.benchmark;
+
+import com.hse.java.threadpool.ThreadPool;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Application measuring throughput of tiny tasks in ThreadPool
+ * compared with a pool using a LinkedList guarded by a monitor,
+ * as ThreadPool did before the lock-free queue.
+ * The monitor pool is measured with bare tasks and with a FutureTask per task,
+ * because ThreadPool creates a LightFuture for every task.
+ * Several threads submit tasks at the same time, each task only increments a counter.
+ */
+public class ThreadPoolBenchmark {
+    private static final int TASKS = 1_000_000;
+    private static final int SUBMITTERS = 4;
+    private static final int ROUNDS = 5;
+    private static final int[] DEFAULT_THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    /**
+     * Number of executed tasks, checked so tasks are not lost.
+     */
+    private static final AtomicLong executed = new AtomicLong();
+
+    /**
+     * Main function.
+     * @param args numbers of pool threads to measure, from 1 to 64 by default
+     */
+    public static void main(String[] args) throws InterruptedException {
+        var threadNumbers = DEFAULT_THREADS;
+        if (args.length > 0) {
+            threadNumbers = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                threadNumbers[i] = Integer.parseInt(args[i]);
+            }
+        }
+        System.out.printf("Tasks: %d, submitting threads: %d, processors: %d%n",
+                TASKS, SUBMITTERS, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-8s %18s %20s %15s %22s%n", "threads",
+                "ThreadPool op/ms", "work stealing op/ms", "monitor op/ms", "monitor+future op/ms");
+        for (int threads : threadNumbers) {
+            double lockFree = throughput(threads, () -> new Pool() {
+                private final ThreadPool pool = new ThreadPool(threads);
+
+                @Override
+                public void submit(@NotNull Runnable task) {
+                    pool.submit(() -> {
+                        task.run();
+                        return null;
+                    });
+                }
+
+                @Override
+                public void shutdown() throws InterruptedException {
+                    pool.shutdown();
+                }
+            });
+            double workStealing = throughput(threads, () -> new Pool() {
+                private final ThreadPool pool = new ThreadPool(threads, true);
+
+                @Override
+                public void submit(@NotNull Runnable task) {
+                    pool.submit(() -> {
+                        task.run();
+                        return null;
+                    });
+                }
+
+                @Override
+                public void shutdown() throws InterruptedException {
+                    pool.shutdown();
+                }
+            });
+            double monitor = throughput(threads, () -> new MonitorPool(threads, false));
+            double monitorWithFutures = throughput(threads, () -> new MonitorPool(threads, true));
+            System.out.printf("%-8d %18.1f %20.1f %15.1f %22.1f%n",
+                    threads, lockFree, workStealing, monitor, monitorWithFutures);
+        }
+    }
+
+    /**
+     * Pool under measurement.
+     */
+    private interface Pool {
+        void submit(@NotNull Runnable task);
+
+        /**
+         * Wait until all the submitted tasks are done and stop the threads.
+         */
+        void shutdown() throws InterruptedException;
+    }
+
+    private interface PoolFactory {
+        @NotNull
+        Pool create();
+    }
+
+    /**
+     * Best throughput of several rounds in tasks per millisecond,
+     * measured from the start of submitting to the end of shutdown.
+     */
+    private static double throughput(int threads, @NotNull PoolFactory factory) throws InterruptedException {
+        long bestTime = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            executed.set(0);
+            var pool = factory.create();
+            var start = new CountDownLatch(1);
+            var submitters = new Thread[SUBMITTERS];
+            for (int i = 0; i < SUBMITTERS; i++) {
+                submitters[i] = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < TASKS / SUBMITTERS; j++) {
+                        pool.submit(executed::incrementAndGet);
+                    }
+                });
+                submitters[i].start();
+            }
+            long startTime = System.nanoTime();
+            start.countDown();
+            for (var submitter : submitters) {
+                submitter.join();
+            }
+            pool.shutdown();
+            bestTime = Math.min(bestTime, System.nanoTime() - startTime);
+            if (executed.get() != TASKS / SUBMITTERS * SUBMITTERS) {
+                throw new IllegalStateException(threads + " threads executed " + executed.get() + " tasks.");
+            }
+        }
+        return TASKS / (bestTime / 1e6);
+    }
+
+    /**
+     * Pool with a LinkedList of tasks guarded by its monitor,
+     * workers wait on the monitor when the queue is empty.
+     */
+    private static class MonitorPool implements Pool {
+        private final Queue<Runnable> tasks = new LinkedList<>();
+        private final Thread[] threads;
+        private boolean isTerminated = false;
+
+        /**
+         * Flag shows if every task is wrapped to a FutureTask.
+         */
+        private final boolean withFutures;
+
+        private MonitorPool(int numberOfThreads, boolean withFutures) {
+            this.withFutures = withFutures;
+            threads = new Thread[numberOfThreads];
+            for (int i = 0; i < numberOfThreads; i++) {
+                threads[i] = new Thread(() -> {
+                    while (true) {
+                        Runnable task;
+                        synchronized (tasks) {
+                            while (tasks.isEmpty()) {
+                                if (isTerminated) {
+                                    return;
+                                }
+                                try {
+                                    tasks.wait();
+                                } catch (InterruptedException e) {
+                                    return;
+                                }
+                            }
+                            task = tasks.poll();
+                        }
+                        task.run();
+                    }
+                });
+                threads[i].start();
+            }
+        }
+
+        @Override
+        public void submit(@NotNull Runnable task) {
+            var queued = withFutures ? new FutureTask<>(task, null) : task;
+            synchronized (tasks) {
+                tasks.add(queued);
+                tasks.notify();
+            }
+        }
+
+        @Override
+        public void shutdown() throws InterruptedException {
+            synchronized (tasks) {
+                isTerminated = true;
+                tasks.notifyAll();
+            }
+            for (var thread : threads) {
+                thread.join();
+            }
+        }
+    }
+}